@@ -1,6 +1,7 @@
 package aspguidp;
 
 import aspguidp.gui.window.WindowSizeManager;
+import aspguidp.service.core.CoreServicePool;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -32,6 +33,14 @@ public class Main extends Application {
         WindowSizeManager.updateMinWindowSize();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() throws Exception {
+        CoreServicePool.getInstance().shutdown();
+    }
+
     /**
      * Entry point of the program, which starts the javafx graphical user interface application.
      *
@@ -7,10 +7,14 @@ import aspguidp.helper.AtomHelper;
 import aspguidp.service.core.CoreServicePool;
 import aspguidp.service.core.asp.AnswerSetManager;
 import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.SolverExecution;
 import aspguidp.service.core.asp.SolverMessageManager;
+import aspguidp.service.core.asp.impl.SpeculativeAspSolverService;
 import aspguidp.service.core.atom.Atom;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
 import javafx.scene.input.KeyCode;
 import javafx.stage.FileChooser;
 
@@ -20,18 +24,24 @@ import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controller class of the input action area of the application. The input action area contains buttons which are used
  * to trigger various actions on or with the data of the input area of the program.
  * <p>
- * Currently, the input action area contains a save button, a load button and a run button.
+ * Currently, the input action area contains a save button, a load button, a run button and a cancel button.
  * The save button saves the current input data of the input area to a problem instance file. The load button sets the
  * data of the input area of the program by a problem instance file. The run button executes the logic program
- * with the data of the input area of the application.
+ * with the data of the input area of the application. The cancel button, which is only visible while the logic program
+ * is executed, aborts the running logic program solver.
  * <p>
  * This class is the link between the data of the input components
  * ({@link aspguidp.controller.input.element.InputElementController})(which is accessed over the input atom hub) and
@@ -42,6 +52,12 @@ public class InputActionController {
     private static final FileChooser.ExtensionFilter problemInstanceFilter = new FileChooser.ExtensionFilter(
             "Problem Instance File (*.asp)", "*.asp", "*.ASP"
     );
+    private static final ScheduledExecutorService speculationExecutorService =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "solver-speculation-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
 
     @FXML
     private Button loadButton;
@@ -49,13 +65,20 @@ public class InputActionController {
     private Button saveButton;
     @FXML
     private Button runButton;
+    @FXML
+    private Button cancelButton;
+    @FXML
+    private Label executionStatusLabel;
+    private Set<Atom> speculationAtoms = null;
 
     /**
      * Initialization method which is called when the respective .fxml file is loaded.
      * <p>
      * This method sets the click handlers for the buttons of the input action area.
      * Additionally, the clickability of the save button is bound to the application data status and the clickability
-     * of the run button is bound to the application execution status.
+     * of the run button is bound to the application execution status. The cancel button and the execution status label
+     * are only visible while a solver execution is running. If the solver configuration enables the speculative
+     * execution, the input is solved speculatively in the background.
      */
     @FXML
     private void initialize() {
@@ -75,18 +98,95 @@ public class InputActionController {
             catch (IOException e) { e.printStackTrace(); }
         });
 
-        // enable run button when all elements are ready for execution
-        this.runButton.disableProperty().bind(ExecutionStatusManager.allElementsReadyProperty().not());
+        // enable run button when all elements are ready for execution and no solver execution is running
+        this.runButton.disableProperty().bind(ExecutionStatusManager.allElementsReadyProperty().not()
+                .or(ExecutionStatusManager.solverRunningProperty()));
         this.runButton.setOnKeyPressed(e -> { if (e.getCode().equals(KeyCode.ENTER)) this.runButton.fire(); });
-        this.runButton.setOnAction(event -> {
-            Collection<Atom> inputAtoms = CoreServicePool.getInstance().getInputAtomHub().getAtomsFromSuppliers();
-            AspSolverService solverService = CoreServicePool.getInstance().getAspSolverService();
-            SolverMessageManager messageManager = CoreServicePool.getInstance().getSolverMessageManager();
-            AnswerSetManager answerSetManager = CoreServicePool.getInstance().getAnswerSetManager();
+        this.runButton.setOnAction(event -> this.executeLogicProgram());
 
-            try { solverService.executeLogicProgram(inputAtoms, messageManager, answerSetManager); }
-            catch (IOException e) { e.printStackTrace(); }
+        // show cancel button and status of the solver execution only while the solver execution is running
+        this.cancelButton.managedProperty().bind(this.cancelButton.visibleProperty());
+        this.cancelButton.visibleProperty().bind(ExecutionStatusManager.solverRunningProperty());
+        this.cancelButton.setOnKeyPressed(e -> { if (e.getCode().equals(KeyCode.ENTER)) this.cancelButton.fire(); });
+        this.cancelButton.setOnAction(event -> ExecutionStatusManager.cancelSolverExecution());
+        this.executionStatusLabel.visibleProperty().bind(ExecutionStatusManager.solverRunningProperty());
+        ExecutionStatusManager.solverExecutionProperty().addListener((ob, o, n) -> {
+            this.executionStatusLabel.textProperty().unbind();
+            if (n != null) this.executionStatusLabel.textProperty().bind(n.messageProperty());
         });
+
+        this.initializeSpeculativeExecution();
+    }
+
+    /**
+     * Initialize the speculative execution of the logic program, if it is enabled by the solver configuration.
+     * <p>
+     * The input atoms are compared with the previous input atoms after every speculation delay. If all input
+     * components are ready for execution and the input atoms did not change since the previous comparison, a
+     * speculative run of the solver service is started in the background, so that the result is available
+     * immediately when the run button is clicked. If the input atoms changed or an input component is not ready
+     * anymore, the stale speculative run is cancelled.
+     */
+    private void initializeSpeculativeExecution() {
+        SpeculativeAspSolverService speculativeService =
+                CoreServicePool.getInstance().getSpeculativeAspSolverService();
+        if (speculativeService == null) return;
+
+        ExecutionStatusManager.allElementsReadyProperty().addListener((ob, o, n) -> {
+            if (!n) {
+                this.speculationAtoms = null;
+                speculativeService.discardSpeculation();
+            }
+        });
+        int speculationDelay = CoreServicePool.getInstance().getSolverConfiguration().getSpeculationDelay();
+        speculationExecutorService.scheduleWithFixedDelay(
+                () -> Platform.runLater(() -> this.updateSpeculativeExecution(speculativeService)),
+                speculationDelay, speculationDelay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start a speculative run of the given solver service, if the input atoms did not change since the previous call
+     * of this method, and cancel the stale speculative run otherwise. Nothing is changed while a solver execution
+     * is running, as the running execution might use the speculative run.
+     *
+     * @param speculativeService solver service which executes the speculative run
+     */
+    private void updateSpeculativeExecution(SpeculativeAspSolverService speculativeService) {
+        if (!ExecutionStatusManager.allElementsReadyProperty().get()) return;
+        if (ExecutionStatusManager.solverRunningProperty().get()) return;
+
+        Set<Atom> inputAtoms = new HashSet<>(CoreServicePool.getInstance().getInputAtomHub().getAtomsFromSuppliers());
+        if (!inputAtoms.equals(this.speculationAtoms)) {
+            this.speculationAtoms = inputAtoms;
+            speculativeService.discardSpeculation();
+            return;
+        }
+        int answerSetPageSize = CoreServicePool.getInstance().getSolverConfiguration().getAnswerSetPageSize();
+        speculativeService.speculate(inputAtoms, answerSetPageSize);
+    }
+
+    /**
+     * Method which is called on click of the run button.
+     * <p>
+     * This method queries the input atoms from the input atom hub and starts a new solver execution with these
+     * atoms as input on a background thread. The output of the execution is forwarded to the solver message manager
+     * and the answer set manager of the application. If an answer set page size is configured, only the first page of
+     * answer sets is loaded. The currently displayed answer set is passed to the execution as reference answer set, so
+     * that the solver service can repair it after small changes of the input.
+     */
+    private void executeLogicProgram() {
+        Collection<Atom> inputAtoms = CoreServicePool.getInstance().getInputAtomHub().getAtomsFromSuppliers();
+        AspSolverService solverService = CoreServicePool.getInstance().getAspSolverService();
+        SolverMessageManager messageManager = CoreServicePool.getInstance().getSolverMessageManager();
+        AnswerSetManager answerSetManager = CoreServicePool.getInstance().getAnswerSetManager();
+        int answerSetPageSize = CoreServicePool.getInstance().getSolverConfiguration().getAnswerSetPageSize();
+
+        SolverExecution execution = new SolverExecution(solverService, inputAtoms, messageManager, answerSetManager,
+                0, answerSetPageSize);
+        execution.setReferenceAnswerSet(CoreServicePool.getInstance().getOutputAtomHub().getAtomsFromSuppliers());
+        execution.setOnFailed(event -> execution.getException().printStackTrace());
+        execution.start();
+        ExecutionStatusManager.setSolverExecution(execution);
     }
 
     /**
@@ -1,10 +1,13 @@
 package aspguidp.controller.output;
 
+import aspguidp.gui.status.ExecutionStatusManager;
 import aspguidp.gui.window.WindowSizeManager;
 import aspguidp.helper.AtomHelper;
 import aspguidp.service.core.CoreServicePool;
 import aspguidp.service.core.asp.AnswerSetManager;
+import aspguidp.service.core.asp.SolverExecution;
 import aspguidp.service.core.atom.Atom;
+import javafx.collections.ListChangeListener;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -29,6 +32,13 @@ import java.util.TreeMap;
  * <p>
  * This controller is the link between the answer set manager (which is filled by the logic program solver) and the
  * data of the output components of the application (which is accessed over the output atom hub).
+ * <p>
+ * If the answer set manager only holds a window of the answer sets of the logic program, the controller loads the
+ * adjacent window, when the user changes the current answer set beyond the loaded answer sets.
+ * <p>
+ * If the logic program solver optimizes an objective, the controller displays the best answer set as soon as an
+ * improving answer set is found and shows its cost, until the solver proved that the answer set is optimal. A
+ * provisional answer set, which was computed by a heuristic before the solver found an answer set, is marked as such.
  */
 public class ProgramOutputController {
     @FXML
@@ -47,6 +57,7 @@ public class ProgramOutputController {
     private TextArea terminalArea;
 
     private Integer currentAnswerSetIndex;
+    private final ListChangeListener<List<Atom>> answerSetCountListener = c -> this.updateAnswerSetControls();
 
     /**
      * Initialization method which is called when the respective .fxml file is loaded.
@@ -56,7 +67,8 @@ public class ProgramOutputController {
      * <p>
      * Also, an atom supplier is registered to the output atom hub, which supplies the atoms of the currently displayed
      * answer set. This is needed in order that the output components can access the atoms of the currently displayed
-     * answer set.
+     * answer set. As answer sets are added to the answer set manager while the logic program solver is running, the
+     * controls for changing the current answer set are updated whenever the list of answer sets grows.
      * <p>
      * Additionally, this method sets up the buttons for changing the current answer set, displaying a text
      * representation of the current answer set and closing the output area of the program.
@@ -77,8 +89,17 @@ public class ProgramOutputController {
 
         // register atom provider to provide current answer set atoms
         // set current answer set to first answer set if answer set property changes
+        // update answer set controls if answer sets are appended to the current answer set list
         this.registerAnswerSetAtomSupplier();
-        answerSetManager.answerSetsProperty().addListener((ob, o, n) -> this.trySetCurrentAnswerSet(0));
+        answerSetManager.answerSetsProperty().addListener((ob, o, n) -> {
+            if (o != null) o.removeListener(this.answerSetCountListener);
+            if (n != null) n.addListener(this.answerSetCountListener);
+            this.trySetCurrentAnswerSet(0);
+        });
+        answerSetManager.moreAnswerSetsAvailableProperty().addListener((ob, o, n) -> this.updateAnswerSetControls());
+        answerSetManager.costProperty().addListener((ob, o, n) -> this.trySetBestAnswerSet());
+        answerSetManager.optimumProvenProperty().addListener((ob, o, n) -> this.trySetBestAnswerSet());
+        ExecutionStatusManager.solverRunningProperty().addListener((ob, o, n) -> this.updateAnswerSetControls());
 
         // initialize buttons
         this.previousSetButton.setGraphic(new Label("\uf060"));
@@ -156,17 +177,89 @@ public class ProgramOutputController {
      * @param answerSetIndex index of the answer set which is set as displayed
      */
     private void trySetCurrentAnswerSet(int answerSetIndex) {
-        List<List<Atom>> answerSets = CoreServicePool.getInstance().getAnswerSetManager().answerSetsProperty().get();
-        if (answerSets == null || answerSetIndex >= answerSets.size()) return;
+        AnswerSetManager answerSetManager = CoreServicePool.getInstance().getAnswerSetManager();
+        List<List<Atom>> answerSets = answerSetManager.answerSetsProperty().get();
+        if (answerSets == null) return;
+
+        // load adjacent answer set window if index is outside of the loaded answer sets
+        if (answerSetIndex >= answerSets.size()) {
+            if (answerSetManager.moreAnswerSetsAvailableProperty().get()) this.tryLoadAdjacentAnswerSetPage(true);
+            return;
+        } else if (answerSetIndex < 0) {
+            if (answerSetManager.answerSetOffsetProperty().get() > 0) this.tryLoadAdjacentAnswerSetPage(false);
+            return;
+        }
 
         // update gui elements
         this.currentAnswerSetIndex = answerSetIndex;
-        this.currentSetLabel.setText(String.format("%d/%d", answerSetIndex + 1, answerSets.size()));
-        this.nextSetButton.setDisable(this.currentAnswerSetIndex + 1 >= answerSets.size());
-        this.previousSetButton.setDisable(this.currentAnswerSetIndex - 1 < 0);
+        this.updateAnswerSetControls();
 
         // set atoms to atom consumers of output hub
         List<Atom> currentAnswerSet = answerSets.get(this.currentAnswerSetIndex);
         CoreServicePool.getInstance().getOutputAtomHub().setAtomsToConsumers(currentAnswerSet);
     }
+
+    /**
+     * Try to set the current displayed answer set to the best answer set of an optimizing logic program solver, which
+     * is the last answer set of the answer set manager. This method is called whenever the solver found an improving
+     * answer set or proved that the best answer set is optimal.
+     */
+    private void trySetBestAnswerSet() {
+        AnswerSetManager answerSetManager = CoreServicePool.getInstance().getAnswerSetManager();
+        List<List<Atom>> answerSets = answerSetManager.answerSetsProperty().get();
+        if (answerSets == null || answerSetManager.costProperty().get() < 0) return;
+        this.trySetCurrentAnswerSet(answerSets.size() - 1);
+    }
+
+    /**
+     * Try to load the window of answer sets which follows or precedes the loaded answer sets into the answer set
+     * manager. The window is loaded by a page execution of the last solver execution, which executes the logic program
+     * again with the same input atoms. Nothing is loaded, if a solver execution is currently running.
+     *
+     * @param nextPage true to load the following window, false to load the preceding window
+     */
+    private void tryLoadAdjacentAnswerSetPage(boolean nextPage) {
+        SolverExecution lastExecution = ExecutionStatusManager.solverExecutionProperty().get();
+        if (lastExecution == null || ExecutionStatusManager.solverRunningProperty().get()) return;
+
+        AnswerSetManager answerSetManager = CoreServicePool.getInstance().getAnswerSetManager();
+        int answerSetOffset = answerSetManager.answerSetOffsetProperty().get();
+        int loadedAnswerSetCount = answerSetManager.answerSetsProperty().get().size();
+        SolverExecution execution = lastExecution.createPageExecution((nextPage)
+                ? answerSetOffset + loadedAnswerSetCount
+                : answerSetOffset - lastExecution.getAnswerSetCount());
+        execution.setOnFailed(event -> execution.getException().printStackTrace());
+        ExecutionStatusManager.setSolverExecution(execution);
+        execution.start();
+    }
+
+    /**
+     * Update the label which displays the index of the current answer set and the clickability of the buttons which
+     * are used to change the current answer set to the current number of answer sets of the answer set manager.
+     */
+    private void updateAnswerSetControls() {
+        AnswerSetManager answerSetManager = CoreServicePool.getInstance().getAnswerSetManager();
+        List<List<Atom>> answerSets = answerSetManager.answerSetsProperty().get();
+        if (answerSets == null || this.currentAnswerSetIndex == null) return;
+
+        // display global answer set index, mark that further answer sets can be loaded
+        int answerSetOffset = answerSetManager.answerSetOffsetProperty().get();
+        boolean moreAnswerSetsAvailable = answerSetManager.moreAnswerSetsAvailableProperty().get();
+        boolean solverRunning = ExecutionStatusManager.solverRunningProperty().get();
+        // mark the provisional answer set of the heuristic
+        // display cost of the current answer set of an optimizing solver, mark the proven optimum
+        String statusText = (answerSetManager.heuristicProperty().get()) ? " (heuristic)" : "";
+        int cost = answerSetManager.costProperty().get();
+        if (cost >= 0 && this.currentAnswerSetIndex + 1 == answerSets.size()) {
+            statusText = String.format(" (cost %d%s)", cost, (answerSetManager.optimumProvenProperty().get())
+                    ? ", optimal" : "");
+        }
+        this.currentSetLabel.setText(String.format("%d/%d%s%s", answerSetOffset + this.currentAnswerSetIndex + 1,
+                answerSetOffset + answerSets.size(), (moreAnswerSetsAvailable) ? "+" : "", statusText));
+
+        boolean lastLoadedSet = this.currentAnswerSetIndex + 1 >= answerSets.size();
+        boolean firstLoadedSet = this.currentAnswerSetIndex - 1 < 0;
+        this.nextSetButton.setDisable(lastLoadedSet && (!moreAnswerSetsAvailable || solverRunning));
+        this.previousSetButton.setDisable(firstLoadedSet && (answerSetOffset == 0 || solverRunning));
+    }
 }
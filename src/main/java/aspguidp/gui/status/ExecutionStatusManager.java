@@ -1,8 +1,12 @@
 package aspguidp.gui.status;
 
+import aspguidp.service.core.asp.SolverExecution;
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ObservableValue;
 
 import java.util.ArrayList;
@@ -22,10 +26,15 @@ import java.util.Collection;
  * ({@link aspguidp.controller.input.InputActionController}). The button is clickable, if the execution status is true,
  * which means that all input components of the application
  * are ready for execution of the logic program.
+ * <p>
+ * Additionally, the manager holds the currently running {@link SolverExecution} of the application. This is used to
+ * disable the run button and to show the cancel button of the application while the logic program solver is running.
  */
 public class ExecutionStatusManager {
     private static final Collection<ObservableValue<Boolean>> elementReadyValues = new ArrayList<>();
     private static final BooleanProperty allElementsReadyProperty = new SimpleBooleanProperty(false);
+    private static final ObjectProperty<SolverExecution> solverExecutionProperty = new SimpleObjectProperty<>(null);
+    private static final BooleanProperty solverRunningProperty = new SimpleBooleanProperty(false);
 
     /**
      * Register a new component execution status. This method is called by every input component, to register its own
@@ -47,6 +56,41 @@ public class ExecutionStatusManager {
         return allElementsReadyProperty;
     }
 
+    /**
+     * Set the given solver execution as the currently running solver execution of the application.
+     * The solver running status is bound to the running status of the given execution.
+     *
+     * @param solverExecution solver execution which was started by the application
+     */
+    public static void setSolverExecution(SolverExecution solverExecution) {
+        solverRunningProperty.unbind();
+        solverExecutionProperty.set(solverExecution);
+        if (solverExecution != null) solverRunningProperty.bind(solverExecution.runningProperty());
+        else solverRunningProperty.set(false);
+    }
+
+    /**
+     * Cancel the currently running solver execution of the application, if there is one.
+     */
+    public static void cancelSolverExecution() {
+        SolverExecution solverExecution = solverExecutionProperty.get();
+        if (solverExecution != null) solverExecution.cancel();
+    }
+
+    /**
+     * @return observable property which holds the last started solver execution of the application (default is null)
+     */
+    public static ReadOnlyObjectProperty<SolverExecution> solverExecutionProperty() {
+        return solverExecutionProperty;
+    }
+
+    /**
+     * @return observable property which signals, if a solver execution of the application is currently running
+     */
+    public static ReadOnlyBooleanProperty solverRunningProperty() {
+        return solverRunningProperty;
+    }
+
     /**
      * Update the application execution status. The application execution status is set tu true, if all registered
      * component execution status are true.
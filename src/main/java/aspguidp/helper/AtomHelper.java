@@ -13,6 +13,8 @@ import java.util.stream.Collectors;
  * Helper class which provides static methods regarding to the management of {@link Atom} instances.
  */
 public class AtomHelper {
+    private static final Pattern answerSetAtomPattern = Pattern.compile("(" + PatternHelper.getAtomPattern() + "),?");
+
     /**
      * Extract string representations of atoms from the given program code.
      *
@@ -37,7 +39,7 @@ public class AtomHelper {
      */
     public static List<String> extractAtomStringsFromAnswerSet(String answerSetString) {
         List<String> atomStrings = new ArrayList<>();
-        Matcher atomMatcher = Pattern.compile("(" + PatternHelper.getAtomPattern() + "),?").matcher(answerSetString);
+        Matcher atomMatcher = answerSetAtomPattern.matcher(answerSetString);
         while (atomMatcher.find()) {
             atomStrings.add(atomMatcher.group(1));
         }
@@ -81,9 +83,26 @@ public class AtomHelper {
      * @return string containing the program code for the given atom instances
      */
     public static String getProgramCode(Collection<Atom> atoms) {
-        List<Atom> sortedAtoms = new ArrayList<>(atoms);
-        sortedAtoms.sort(Comparator.comparing(Atom::getStringRepresentation));
-        return sortedAtoms.stream().map(Atom::getStringRepresentation).map(s -> s + ". ").collect(Collectors.joining());
+        String[] atomStrings = new String[atoms.size()];
+        int i = 0;
+        for (Atom atom : atoms) atomStrings[i++] = atom.getStringRepresentation();
+        Arrays.sort(atomStrings);
+
+        StringBuilder programCode = new StringBuilder();
+        for (String atomString : atomStrings) programCode.append(atomString).append(". ");
+        return programCode.toString();
+    }
+
+    /**
+     * Calculate a canonical fingerprint of the given atoms. The fingerprint is the hash of the program code of the
+     * atoms, which contains the atoms in sorted order. Therefore, the fingerprint does not depend on the order of
+     * the given collection.
+     *
+     * @param atoms atoms of which the fingerprint is calculated
+     * @return hexadecimal string representation of the fingerprint of the given atoms
+     */
+    public static String getFingerprint(Collection<Atom> atoms) {
+        return HashHelper.sha256(getProgramCode(atoms));
     }
 
     /**
@@ -0,0 +1,55 @@
+package aspguidp.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Helper class which provides static methods for calculating hash values, which are used to identify data (for
+ * example: the input of a logic program execution) by a short fingerprint.
+ */
+public class HashHelper {
+    private static final char[] hexDigits = "0123456789abcdef".toCharArray();
+
+    /**
+     * Calculate the sha-256 hash of the given string parts. The parts are separated by a null character before
+     * hashing, so that different splits of the same string lead to different hash values.
+     *
+     * @param parts string parts which are hashed
+     * @return hexadecimal string representation of the sha-256 hash of the given parts
+     */
+    public static String sha256(String... parts) {
+        MessageDigest digest = getSha256Digest();
+        for (String part : parts) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return toHexString(digest.digest());
+    }
+
+    /**
+     * Convert the given bytes to a hexadecimal string representation.
+     *
+     * @param bytes bytes which are converted
+     * @return hexadecimal string representation of the given bytes
+     */
+    public static String toHexString(byte[] bytes) {
+        char[] hexChars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hexChars[i * 2] = hexDigits[(bytes[i] >> 4) & 0xF];
+            hexChars[i * 2 + 1] = hexDigits[bytes[i] & 0xF];
+        }
+        return new String(hexChars);
+    }
+
+    /**
+     * @return new message digest instance for the sha-256 algorithm
+     */
+    public static MessageDigest getSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every java platform is required to support sha-256
+        }
+    }
+}
@@ -2,13 +2,41 @@ package aspguidp.service.core;
 
 import aspguidp.service.core.asp.AnswerSetManager;
 import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.FeasibilityCheck;
+import aspguidp.service.core.asp.SolverBackend;
+import aspguidp.service.core.asp.SolverConfiguration;
 import aspguidp.service.core.asp.SolverMessageManager;
+import aspguidp.service.core.asp.SolverResultCache;
+import aspguidp.service.core.asp.impl.CachingAspSolverService;
+import aspguidp.service.core.asp.impl.CriticalPathCheck;
+import aspguidp.service.core.asp.impl.DecomposingAspSolverService;
+import aspguidp.service.core.asp.impl.DependencyCycleCheck;
+import aspguidp.service.core.asp.impl.DiskSolverResultCache;
 import aspguidp.service.core.asp.impl.DlvAnswerSetManager;
 import aspguidp.service.core.asp.impl.DlvAspSolverService;
 import aspguidp.service.core.asp.impl.DlvSolverMessageManager;
+import aspguidp.service.core.asp.impl.EmployeeCountCheck;
+import aspguidp.service.core.asp.impl.HeuristicAspSolverService;
+import aspguidp.service.core.asp.impl.HorizonSearchingAspSolverService;
+import aspguidp.service.core.asp.impl.LocalSearchAspSolverService;
+import aspguidp.service.core.asp.impl.MemorySolverResultCache;
+import aspguidp.service.core.asp.impl.PooledDlvAspSolverService;
+import aspguidp.service.core.asp.impl.PortfolioAspSolverService;
+import aspguidp.service.core.asp.impl.PreCheckingAspSolverService;
+import aspguidp.service.core.asp.impl.RepairingAspSolverService;
+import aspguidp.service.core.asp.impl.SchedulingAspSolverService;
+import aspguidp.service.core.asp.impl.SpeculativeAspSolverService;
+import aspguidp.service.core.asp.impl.TieredSolverResultCache;
+import aspguidp.service.core.asp.impl.UnknownTaskCheck;
+import aspguidp.service.core.asp.impl.WorkloadCheck;
 import aspguidp.service.core.atom.AtomHub;
 import aspguidp.service.core.atom.impl.SimpleAtomHub;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Singleton core service pool class.
  * <p>
@@ -26,6 +54,8 @@ public class CoreServicePool {
     private AnswerSetManager answerSetManagerInstance;
     private SolverMessageManager solverMessageManagerInstance;
     private AspSolverService aspSolverServiceInstance;
+    private SpeculativeAspSolverService speculativeAspSolverServiceInstance;
+    private SolverConfiguration solverConfigurationInstance;
 
     private CoreServicePool() {
     }
@@ -99,14 +129,153 @@ public class CoreServicePool {
     /**
      * Method to access the asp solver service of the application, which is responsible for execution the logic
      * program.
-     * If the asp solver service is not initialized yet, it is initialized before it is returned.
+     * If the asp solver service is not initialized yet, it is initialized before it is returned. If the solver
+     * configuration selects several backends, the backends are executed as parallel portfolio. If the solver
+     * configuration enables the decomposition, independent components of the problem are solved separately. If the
+     * solver configuration enables the horizon probes, the minimal project duration is searched by solver runs with
+     * tightened horizons. If the solver configuration enables the local search, the plans of the solver are improved
+     * afterwards. If the solver configuration enables the pre-checks, infeasible inputs are rejected before a solver is
+     * started. If the solver configuration enables the heuristic, a provisional plan is displayed while the solver is
+     * running. If the solver configuration enables the in-memory or the disk result cache, the solver service is
+     * wrapped by a caching solver service. If the solver configuration enables the speculative execution, the solver
+     * service can be executed speculatively before the run button is clicked. If the solver configuration enables the
+     * plan repair, the displayed plan is repaired after small changes of the input.
      *
      * @return asp solver service instance of the application
      */
     public AspSolverService getAspSolverService() {
         if (this.aspSolverServiceInstance == null) {
-            this.aspSolverServiceInstance = new DlvAspSolverService("/asp/logic-program.dl");
+            SolverConfiguration configuration = this.getSolverConfiguration();
+            List<SolverBackend> backends = configuration.getBackends();
+            AspSolverService solverService;
+            if (backends.size() > 1) {
+                Map<String, AspSolverService> portfolio = new LinkedHashMap<>();
+                for (SolverBackend backend : backends) {
+                    portfolio.put(backend.getName(), this.createBaseSolverService(backend, configuration));
+                }
+                solverService = new PortfolioAspSolverService(portfolio);
+            } else {
+                solverService = this.createBaseSolverService(backends.get(0), configuration);
+            }
+            // components are coupled by the objective, therefore optimizing solver runs are not decomposed
+            if (configuration.isDecomposition() && !configuration.getObjective().isOptimizing()) {
+                solverService = new DecomposingAspSolverService(solverService);
+            }
+            // optimizing solver runs minimize the objective with weak constraints instead of horizon probes
+            if (configuration.getHorizonProbes() > 0 && !configuration.getObjective().isOptimizing()) {
+                solverService = new HorizonSearchingAspSolverService(solverService, configuration.getHorizonProbes());
+            }
+            if (configuration.getLocalSearchTime() > 0) {
+                solverService = new LocalSearchAspSolverService(solverService, configuration);
+            }
+            // the provisional plan is only published for inputs which pass the pre-checks
+            if (configuration.isHeuristic()) solverService = new HeuristicAspSolverService(solverService);
+            if (configuration.isPreChecks()) {
+                solverService = new PreCheckingAspSolverService(solverService, this.createFeasibilityChecks());
+            }
+            SolverResultCache resultCache = this.createSolverResultCache(configuration);
+            if (resultCache != null) {
+                solverService = new CachingAspSolverService(solverService, resultCache, configuration);
+            }
+            if (configuration.getSpeculationDelay() > 0) {
+                this.speculativeAspSolverServiceInstance = new SpeculativeAspSolverService(solverService);
+                solverService = this.speculativeAspSolverServiceInstance;
+            }
+            // repaired plans are not optimal, therefore they are neither cached nor used by optimizing solver runs
+            if (configuration.getRepairLimit() > 0 && !configuration.getObjective().isOptimizing()) {
+                solverService = new RepairingAspSolverService(solverService, configuration.getRepairLimit());
+            }
+            this.aspSolverServiceInstance = solverService;
         }
         return this.aspSolverServiceInstance;
     }
+
+    /**
+     * Get the speculative solver service of the chain of the asp solver service instance of the application. The
+     * speculative solver service is used to solve the input speculatively before the run button is clicked.
+     *
+     * @return speculative solver service of the application, null if the solver configuration does not enable the
+     * speculative execution
+     */
+    public SpeculativeAspSolverService getSpeculativeAspSolverService() {
+        this.getAspSolverService();
+        return this.speculativeAspSolverServiceInstance;
+    }
+
+    /**
+     * Create the solver service which executes the logic program with the given backend. The 'java' backend is the
+     * in-process scheduling solver service, every other backend is a dlv solver service with the arguments and the
+     * encoding of the backend (with pre-started solver processes, if the solver configuration enables the process
+     * pool).
+     *
+     * @param backend       backend which executes the logic program
+     * @param configuration solver configuration which holds the settings of the solver
+     * @return solver service instance of the given backend
+     */
+    private AspSolverService createBaseSolverService(SolverBackend backend, SolverConfiguration configuration) {
+        if (backend.isInProcess()) {
+            return new SchedulingAspSolverService(backend.getLogicProgramPath(), configuration);
+        }
+        if (configuration.getProcessPoolSize() > 0) {
+            return new PooledDlvAspSolverService(backend, configuration);
+        }
+        return new DlvAspSolverService(backend, configuration);
+    }
+
+    /**
+     * Create the feasibility checks which are executed before the logic program solver is started. Cheap checks are
+     * executed first.
+     *
+     * @return feasibility checks in the order of their execution
+     */
+    private List<FeasibilityCheck> createFeasibilityChecks() {
+        return Arrays.asList(new UnknownTaskCheck(), new EmployeeCountCheck(), new DependencyCycleCheck(),
+                new CriticalPathCheck(), new WorkloadCheck());
+    }
+
+    /**
+     * Release the resources of the initialized services of the application core (for example: pre-started solver
+     * processes). This method is called on exit of the application.
+     */
+    public void shutdown() {
+        if (this.aspSolverServiceInstance != null) this.aspSolverServiceInstance.shutdown();
+    }
+
+    /**
+     * Create the solver result cache which is enabled by the given solver configuration. If the in-memory cache and
+     * the disk cache are enabled, the in-memory cache is used as first level cache for the disk cache.
+     *
+     * @param configuration solver configuration which defines the enabled caches
+     * @return solver result cache instance, null if no cache is enabled
+     */
+    private SolverResultCache createSolverResultCache(SolverConfiguration configuration) {
+        SolverResultCache memoryCache = null;
+        SolverResultCache diskCache = null;
+        if (configuration.getResultCacheSize() > 0) {
+            long maxMemorySize = configuration.getResultCacheMemory() * 1024L * 1024L;
+            memoryCache = new MemorySolverResultCache(configuration.getResultCacheSize(), maxMemorySize);
+        }
+        if (configuration.getDiskCacheSize() > 0) {
+            long maxCacheSize = configuration.getDiskCacheSize() * 1024L * 1024L;
+            diskCache = new DiskSolverResultCache(configuration.getDiskCacheDirectory(), maxCacheSize);
+        }
+
+        if (memoryCache != null && diskCache != null) return new TieredSolverResultCache(memoryCache, diskCache);
+        return (memoryCache != null) ? memoryCache : diskCache;
+    }
+
+    /**
+     * Method to access the solver configuration of the application, which holds the settings of the logic program
+     * solver.
+     * If the solver configuration is not initialized yet, it is initialized from the java system properties before it
+     * is returned.
+     *
+     * @return solver configuration instance of the application
+     */
+    public SolverConfiguration getSolverConfiguration() {
+        if (this.solverConfigurationInstance == null) {
+            this.solverConfigurationInstance = SolverConfiguration.fromSystemProperties();
+        }
+        return this.solverConfigurationInstance;
+    }
 }
@@ -2,7 +2,9 @@ package aspguidp.service.core.asp;
 
 import aspguidp.service.core.atom.Atom;
 import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.collections.ObservableList;
 
 import java.util.List;
 
@@ -16,6 +18,22 @@ import java.util.List;
  * the resulting answer sets of the logic program after execution. Additionally, the instance provides a observable
  * property which signals, if the execution of the logic program did not lead to any answer sets.
  * <p>
+ * The answer sets can also be added incrementally while the logic program solver is still running. In this case, the
+ * answer sets are appended to the observable list of the answer set property, so that already found answer sets can
+ * be displayed before the solver terminated.
+ * <p>
+ * If the number of answer sets which are loaded at once is limited, the answer set manager only holds a window of
+ * the answer sets of the logic program. The offset property of the answer set manager holds the index of the first
+ * loaded answer set and an additional property signals, if there are further answer sets after the loaded window.
+ * <p>
+ * If the logic program solver optimizes an objective, the answer sets are the improving answer sets of the solver and
+ * the answer set manager additionally holds the cost of the best answer set and signals, if the best answer set was
+ * proven to be optimal.
+ * <p>
+ * Before the logic program solver found an answer set, a provisional answer set which was computed by a heuristic can
+ * be set to the answer set manager. The provisional answer set is marked as heuristic and replaced by the first
+ * answer set of the solver.
+ * <p>
  * Usually, only one answer set manager instance is used in the application.
  */
 public interface AnswerSetManager {
@@ -30,19 +48,106 @@ public interface AnswerSetManager {
     void setPropertiesBySolverOutput(String solverOutput);
 
     /**
-     * Resets the answer set property and the no valid answer set property of the answer set manager to the default
-     * values.
+     * Add the given answer sets to the answer sets of the answer set manager instance.
+     * This method is called by a solver execution with the answer sets which were read from the solver output
+     * while the logic program solver is still running.
+     * <p>
+     * If the given offset directly follows the currently loaded answer sets, the given answer sets are appended to the
+     * observable list of the answer set property. Otherwise, the loaded answer sets are replaced by the given answer
+     * sets.
+     *
+     * @param answerSetOffset index of the first given answer set in the enumeration of the logic program solver
+     * @param answerSets      answer sets which are added to the observable property
+     */
+    void addAnswerSets(int answerSetOffset, List<List<Atom>> answerSets);
+
+    /**
+     * Set the given provisional answer set as the only answer set of the answer set manager instance and mark it as
+     * heuristic. The provisional answer set is replaced, when answer sets of the logic program solver are added.
+     *
+     * @param answerSet provisional answer set which was computed by a heuristic
+     */
+    void setHeuristicAnswerSet(List<Atom> answerSet);
+
+    /**
+     * Remove the provisional answer set, if it was not replaced by an answer set of the logic program solver.
+     * This method is called by a solver execution which was cancelled, so that the provisional answer set is not
+     * displayed as result. The answer sets of the solver which were already added are kept.
+     */
+    void discardHeuristicAnswerSet();
+
+    /**
+     * Signal that the logic program solver terminated after the answer sets were added incrementally.
+     * A provisional answer set which was not replaced by an answer set of the solver is removed. The no valid answer
+     * set property is set, if the solver did not produce any output.
+     *
+     * @param emptySolverOutput       true if the logic program solver did not produce any answer sets or messages
+     * @param moreAnswerSetsAvailable true if the solver stopped the enumeration before all answer sets were computed
+     */
+    void completeAnswerSets(boolean emptySolverOutput, boolean moreAnswerSetsAvailable);
+
+    /**
+     * Set the cost of the best answer set of an optimizing logic program solver, which is the last added answer set.
+     * This method is called by a solver execution whenever the solver found an improving answer set and after the
+     * solver terminated.
+     *
+     * @param cost          cost of the best answer set
+     * @param optimumProven true if the solver terminated regularly and the best answer set is optimal
+     */
+    void setCost(int cost, boolean optimumProven);
+
+    /**
+     * Resets the answer set property, the no valid answer set property, the paging properties, the cost properties and
+     * the heuristic property of the answer set manager to the default values.
      */
     void resetProperties();
 
+    /**
+     * Get the store which holds the loaded answer sets of the answer set manager instance. The answer set with an
+     * index in the store is the answer set with the same index in the answer set property. The store can be used for
+     * set operations over the loaded answer sets (for example: the atoms which are part of every answer set).
+     *
+     * @return store of the loaded answer sets, which is empty if no answer sets are loaded
+     */
+    AnswerSetStore getAnswerSetStore();
+
     /**
      * @return observable property which contains the answer sets of the executed logic program. (default is null)
      */
-    ReadOnlyObjectProperty<List<List<Atom>>> answerSetsProperty();
+    ReadOnlyObjectProperty<ObservableList<List<Atom>>> answerSetsProperty();
 
     /**
      * @return observable property which signals, if the execution of the logic program lead to no answer sets. (default
      * is false)
      */
     ReadOnlyBooleanProperty noValidAnswerSetProperty();
+
+    /**
+     * @return observable property which contains the index of the first loaded answer set (default is 0)
+     */
+    ReadOnlyIntegerProperty answerSetOffsetProperty();
+
+    /**
+     * @return observable property which signals, if there are further answer sets after the loaded answer sets
+     * (default is false)
+     */
+    ReadOnlyBooleanProperty moreAnswerSetsAvailableProperty();
+
+    /**
+     * @return observable property which contains the cost of the best answer set of an optimizing logic program
+     * solver (default is -1, which means that the solver did not optimize)
+     */
+    ReadOnlyIntegerProperty costProperty();
+
+    /**
+     * @return observable property which signals, if the best answer set of an optimizing logic program solver was
+     * proven to be optimal (default is false)
+     */
+    ReadOnlyBooleanProperty optimumProvenProperty();
+
+    /**
+     * @return observable property which signals, if the loaded answer set is a provisional answer set which was
+     * computed by a heuristic (default is false)
+     */
+    ReadOnlyBooleanProperty heuristicProperty();
 }
@@ -0,0 +1,203 @@
+package aspguidp.service.core.asp;
+
+import aspguidp.service.core.atom.Atom;
+
+import java.util.*;
+
+/**
+ * Store class which holds the answer sets of a logic program execution in a shared atom pool.
+ * <p>
+ * Every distinct atom of the stored answer sets is held once in an indexed pool. An answer set is stored as a single
+ * array of pool indices, which keeps the order of the atoms of the answer set. The atom instances are shared by all
+ * answer sets, which share most of their atoms (for example: the input atoms, which are part of every answer set).
+ * <p>
+ * The store provides set operations over the stored answer sets: the cautious atoms (atoms which are part of every
+ * answer set), the brave atoms (atoms which are part of at least one answer set) and the difference between two answer
+ * sets. The bitsets over the pool which are needed by the set operations are built from the index arrays when an
+ * operation is called. The answer sets are served as unmodifiable {@link List} views for existing consumers, which
+ * contain the atoms in the order in which they were added. The atoms of the results of the set operations are
+ * ordered by their index in the pool, which is the order in which the atoms were first added to the store.
+ * <p>
+ * The store can be accessed from any thread. The pool only grows, therefore the atoms of the list views are read
+ * without synchronization.
+ */
+public class AnswerSetStore {
+    private final Map<Atom, Integer> atomIndices = new HashMap<>();
+    private final List<int[]> answerSets = new ArrayList<>();
+    private volatile Atom[] atomPool = new Atom[16];
+    private int atomCount = 0;
+
+    /**
+     * Add the given answer set to the store. Atoms which are not part of the pool yet are appended to the pool.
+     *
+     * @param answerSet atoms of the answer set which is added
+     * @return list view of the stored answer set
+     */
+    public synchronized List<Atom> addAnswerSet(Collection<Atom> answerSet) {
+        Atom[] atomPool = this.atomPool;
+        int[] atomIndices = new int[answerSet.size()];
+        int i = 0;
+        for (Atom atom : answerSet) {
+            Integer atomIndex = this.atomIndices.get(atom);
+            if (atomIndex == null) {
+                atomIndex = this.atomCount++;
+                if (atomIndex == atomPool.length) atomPool = Arrays.copyOf(atomPool, atomPool.length * 2);
+                atomPool[atomIndex] = atom;
+                this.atomIndices.put(atom, atomIndex);
+            }
+            atomIndices[i++] = atomIndex;
+        }
+
+        // publish the appended atoms to the list views, which read the pool without synchronization
+        this.atomPool = atomPool;
+        this.answerSets.add(atomIndices);
+        return new AtomListView(atomIndices);
+    }
+
+    /**
+     * @param answerSetIndex index of a stored answer set
+     * @return list view of the answer set with the given index
+     */
+    public synchronized List<Atom> getAnswerSet(int answerSetIndex) {
+        return new AtomListView(this.answerSets.get(answerSetIndex));
+    }
+
+    /**
+     * @return list view of the answer sets which are stored at the time of the call, which contains a list view of
+     * every answer set
+     */
+    public List<List<Atom>> getAnswerSets() {
+        return new AnswerSetListView(this.getAnswerSetCount());
+    }
+
+    /**
+     * @return number of stored answer sets
+     */
+    public synchronized int getAnswerSetCount() {
+        return this.answerSets.size();
+    }
+
+    /**
+     * @return distinct atoms of all stored answer sets in the order in which they were first added to the store
+     */
+    public synchronized List<Atom> getAtoms() {
+        return Collections.unmodifiableList(Arrays.asList(this.atomPool).subList(0, this.atomCount));
+    }
+
+    /**
+     * @return number of distinct atoms of all stored answer sets
+     */
+    public synchronized int getAtomCount() {
+        return this.atomCount;
+    }
+
+    /**
+     * @return atoms which are part of every stored answer set (intersection), empty if no answer set is stored
+     */
+    public synchronized List<Atom> getCautiousAtoms() {
+        if (this.answerSets.isEmpty()) return Collections.emptyList();
+        BitSet bits = this.getBits(0);
+        for (int i = 1; i < this.answerSets.size() && !bits.isEmpty(); i++) bits.and(this.getBits(i));
+        return new AtomListView(bits.stream().toArray());
+    }
+
+    /**
+     * @return atoms which are part of at least one stored answer set (union)
+     */
+    public synchronized List<Atom> getBraveAtoms() {
+        BitSet bits = new BitSet(this.atomCount);
+        for (int[] answerSet : this.answerSets) {
+            for (int atomIndex : answerSet) bits.set(atomIndex);
+        }
+        return new AtomListView(bits.stream().toArray());
+    }
+
+    /**
+     * Calculate the atoms which are part of one answer set, but not of another answer set (for example: to compare
+     * two plans).
+     *
+     * @param answerSetIndex      index of the answer set of which the atoms are returned
+     * @param otherAnswerSetIndex index of the answer set of which the atoms are removed
+     * @return atoms of the first answer set which are not part of the other answer set
+     */
+    public synchronized List<Atom> getDifference(int answerSetIndex, int otherAnswerSetIndex) {
+        BitSet bits = this.getBits(answerSetIndex);
+        for (int atomIndex : this.answerSets.get(otherAnswerSetIndex)) bits.clear(atomIndex);
+        return new AtomListView(bits.stream().toArray());
+    }
+
+    /**
+     * @param answerSetIndex index of a stored answer set
+     * @return new bitset over the pool, in which the bit of every atom of the answer set with the given index is set
+     */
+    private BitSet getBits(int answerSetIndex) {
+        BitSet bits = new BitSet(this.atomCount);
+        for (int atomIndex : this.answerSets.get(answerSetIndex)) bits.set(atomIndex);
+        return bits;
+    }
+
+    /**
+     * Unmodifiable list view of the atoms of an array of pool indices.
+     */
+    private class AtomListView extends AbstractList<Atom> implements RandomAccess {
+        private final int[] atomIndices;
+
+        /**
+         * Create a new list view of the atoms with the given pool indices. The array must not be modified afterwards.
+         *
+         * @param atomIndices pool indices of the atoms of the view in the order of the view
+         */
+        private AtomListView(int[] atomIndices) {
+            this.atomIndices = atomIndices;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Atom get(int index) {
+            return AnswerSetStore.this.atomPool[this.atomIndices[index]];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return this.atomIndices.length;
+        }
+    }
+
+    /**
+     * Unmodifiable list view of the first stored answer sets.
+     */
+    private class AnswerSetListView extends AbstractList<List<Atom>> implements RandomAccess {
+        private final int answerSetCount;
+
+        /**
+         * Create a new list view of the first stored answer sets.
+         *
+         * @param answerSetCount number of answer sets of the view
+         */
+        private AnswerSetListView(int answerSetCount) {
+            this.answerSetCount = answerSetCount;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public List<Atom> get(int index) {
+            if (index >= this.answerSetCount) throw new IndexOutOfBoundsException("Index: " + index);
+            return AnswerSetStore.this.getAnswerSet(index);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return this.answerSetCount;
+        }
+    }
+}
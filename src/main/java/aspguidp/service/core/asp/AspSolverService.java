@@ -11,21 +11,69 @@ import java.util.Collection;
  * An answer set solver programming service is responsible for executing a logic program with an logic program solver.
  * An instance of an answer set programming solver service manages the content of a logic program and provides a method
  * to execute the logic program with a given collection of {@link Atom} instances as input.
+ * The logic program is executed on a background thread as {@link SolverExecution}, which can be cancelled by the user.
  * <p>
  * Usually, only one answer set programming solver service instance is used in the application.
  */
 public interface AspSolverService {
     /**
      * Execute the logic program which is managed by the answer set programming solver service instance.
+     * Pass the given logic atoms to the logic program as input and pass the output of the logic program solver to
+     * the given solver execution.
+     * <p>
+     * This method blocks the calling thread until the logic program solver terminated. Therefore, it must not be
+     * called on the javafx application thread. Implementations register a cancel handler to the given execution,
+     * which aborts the running logic program solver, if the execution is cancelled.
+     * Only the answer sets of the window which is defined by the answer set offset and the answer set count of the
+     * given execution are published to the execution.
+     *
+     * @param atoms     logic atoms which are passed to the logic program as input
+     * @param execution solver execution to which the output of the logic program solver is passed
+     * @throws IOException
+     */
+    void executeLogicProgram(Collection<Atom> atoms, SolverExecution execution) throws IOException;
+
+    /**
+     * Execute the logic program which is managed by the answer set programming solver service instance on a
+     * background thread.
      * Pass the given logic atoms to the logic program as input and store the output of the logic program solver to
      * the given solver message handler and the given answer set manager.
      *
      * @param atoms                logic atoms which are passed to the logic program as input
      * @param solverMessageManager solver message manager to which the output of the logic program solver is forwarded
      * @param answerSetManager     answer set manager to which the output of the logic program solver is forwarded
-     * @throws IOException
+     * @return started solver execution, which can be used to observe the status of the execution and to cancel it
+     */
+    default SolverExecution executeLogicProgramAsync(Collection<Atom> atoms, SolverMessageManager solverMessageManager,
+                                                     AnswerSetManager answerSetManager) {
+        return this.executeLogicProgramAsync(atoms, solverMessageManager, answerSetManager, 0);
+    }
+
+    /**
+     * Execute the logic program which is managed by the answer set programming solver service instance on a
+     * background thread and forward only the first answer sets of the logic program to the given answer set manager.
+     * Further answer sets can be loaded by page executions of the returned execution.
+     *
+     * @param atoms                logic atoms which are passed to the logic program as input
+     * @param solverMessageManager solver message manager to which the output of the logic program solver is forwarded
+     * @param answerSetManager     answer set manager to which the output of the logic program solver is forwarded
+     * @param answerSetPageSize    maximum number of answer sets which are forwarded (0 means unlimited)
+     * @return started solver execution, which can be used to observe the status of the execution and to cancel it
+     */
+    default SolverExecution executeLogicProgramAsync(Collection<Atom> atoms, SolverMessageManager solverMessageManager,
+                                                     AnswerSetManager answerSetManager, int answerSetPageSize) {
+        SolverExecution execution = new SolverExecution(this, atoms, solverMessageManager, answerSetManager,
+                0, answerSetPageSize);
+        execution.start();
+        return execution;
+    }
+
+    /**
+     * Release the resources which are held by the answer set programming solver service instance (for example:
+     * pre-started solver processes). This method is called on exit of the application.
      */
-    void executeLogicProgram(Collection<Atom> atoms, SolverMessageManager solverMessageManager, AnswerSetManager answerSetManager) throws IOException;
+    default void shutdown() {
+    }
 
     /**
      * @return content of the logic program which is managed by the answer set programming solver service instance
@@ -0,0 +1,19 @@
+package aspguidp.service.core.asp;
+
+/**
+ * Interface for a feasibility check of a project planning problem.
+ * <p>
+ * A feasibility check detects inputs of the logic program which cannot have a valid answer set (for example: a task
+ * which needs more employees than available). Feasibility checks are executed before the logic program solver is
+ * started, so that such inputs are rejected with a precise diagnostic instead of an empty solver result.
+ */
+public interface FeasibilityCheck {
+    /**
+     * Check if the given problem can have a valid plan.
+     *
+     * @param problem scheduling problem which is checked
+     * @return diagnostic message which describes why the problem has no valid plan, null if the check did not find a
+     * reason
+     */
+    String check(SchedulingProblem problem);
+}
@@ -0,0 +1,76 @@
+package aspguidp.service.core.asp;
+
+import aspguidp.Main;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.stream.Collectors;
+
+/**
+ * Objective of an optimizing execution of the project planning logic program.
+ * <p>
+ * If an objective is selected, the weak constraints of the objective are appended to the logic program. The solver
+ * only reports answer sets which have a lower cost than the previously reported answer set, the last answer set of a
+ * run which terminated regularly is an optimal plan.
+ * <p>
+ * The cost of an answer set is the number of time points which violate the weak constraints of the objective: the
+ * project duration for the project duration objective and the number of time points up to the maximum integer
+ * ('#maxint') without full staff utilization for the full utilization objective.
+ */
+public enum PlanningObjective {
+    NONE("none", null),
+    PROJECT_DURATION("projectDuration", "/asp/objective-project-duration.dl"),
+    FULL_UTILIZATION("fullUtilization", "/asp/objective-full-utilization.dl");
+
+    private final String propertyValue;
+    private final String weakConstraintsPath;
+
+    /**
+     * @param propertyValue       value which selects the objective in the solver configuration
+     * @param weakConstraintsPath path of the weak constraints of the objective in the program resources
+     */
+    PlanningObjective(String propertyValue, String weakConstraintsPath) {
+        this.propertyValue = propertyValue;
+        this.weakConstraintsPath = weakConstraintsPath;
+    }
+
+    /**
+     * Find the objective which is selected by the given value of the solver configuration.
+     *
+     * @param propertyValue value of the objective property of the solver configuration
+     * @return selected objective, {@link #NONE} if no objective matches the given value
+     */
+    public static PlanningObjective fromPropertyValue(String propertyValue) {
+        for (PlanningObjective objective : values()) {
+            if (objective.propertyValue.equals(propertyValue)) return objective;
+        }
+        return NONE;
+    }
+
+    /**
+     * @return value which selects the objective in the solver configuration
+     */
+    public String getPropertyValue() {
+        return this.propertyValue;
+    }
+
+    /**
+     * @return true if the solver only reports answer sets which improve the cost of the objective
+     */
+    public boolean isOptimizing() {
+        return this.weakConstraintsPath != null;
+    }
+
+    /**
+     * Read the weak constraints of the objective, which are appended to the project planning logic program.
+     *
+     * @return logic program code of the weak constraints, an empty string if the objective is not optimizing
+     */
+    public String getWeakConstraints() {
+        if (!this.isOptimizing()) return "";
+        InputStream weakConstraintsStream = Main.class.getResourceAsStream(this.weakConstraintsPath);
+        BufferedReader weakConstraintsReader = new BufferedReader(new InputStreamReader(weakConstraintsStream));
+        return weakConstraintsReader.lines().collect(Collectors.joining("\n"));
+    }
+}
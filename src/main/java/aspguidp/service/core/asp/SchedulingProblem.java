@@ -0,0 +1,577 @@
+package aspguidp.service.core.asp;
+
+import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.impl.SimpleAtom;
+import aspguidp.service.core.atom.impl.SymbolAtom;
+
+import java.util.*;
+
+/**
+ * Model class which holds the project planning problem that is defined by a collection of input atoms.
+ * <p>
+ * The problem is built from the atoms of the project planning logic program: 'task(Name,EmployeeCount,Duration)',
+ * 'depends_on(Task1,Task2)' (task 1 must not start before task 2 is completed), 'max_employee_count(Count)' and
+ * 'max_project_duration(Duration)'. Tasks are identified by their index in the problem. Dependencies which reference
+ * unknown tasks are ignored, like in the logic program. Atoms with invalid arguments are ignored and reported as
+ * warning.
+ * <p>
+ * Additionally, the problem provides the derived data which is needed by scheduling algorithms (a topological order
+ * of the tasks, the length of the longest dependency chain from every task to the end of the project and the horizon
+ * of the project), the integer bound which is needed by the logic program solver for the problem and the conversion
+ * of a schedule to the answer set atoms of the logic program.
+ */
+public class SchedulingProblem {
+    private final List<Atom> inputAtoms;
+    private final List<String> warnings = new ArrayList<>();
+    private final List<String> taskNames = new ArrayList<>();
+    private final int[] employeeCounts;
+    private final int[] durations;
+    private final int[][] predecessors;
+    private final int[][] successors;
+    private final int maxEmployeeCount;
+    private final int maxProjectDuration;
+    private final List<Atom> maxProjectDurationAtoms = new ArrayList<>();
+    private final int maxInputInteger;
+    private final int[] topologicalOrder;
+    private final boolean acyclic;
+    private final int[] tails;
+    private final int[] earliestStarts;
+
+    /**
+     * Create a new scheduling problem from the given input atoms.
+     *
+     * @param atoms input atoms of the project planning logic program
+     */
+    public SchedulingProblem(Collection<Atom> atoms) {
+        this.inputAtoms = new ArrayList<>(atoms);
+
+        // collect tasks, every task name is planned once with its first definition
+        Map<String, Integer> taskIndices = new LinkedHashMap<>();
+        List<int[]> taskValues = new ArrayList<>();
+        List<String[]> dependencies = new ArrayList<>();
+        int maxEmployeeCount = -1;
+        int maxProjectDuration = -1;
+        int maxInputInteger = 0;
+        for (Atom atom : this.inputAtoms) {
+            // the maximum project duration is passed to the solver as horizon, the input value needs no integer bound
+            List<String> arguments = atom.getArguments();
+            String predicate = atom.getPredicateName() + "/" + arguments.size();
+            if (!"max_project_duration/1".equals(predicate)) {
+                for (String argument : arguments) maxInputInteger = Math.max(maxInputInteger, toInteger(argument));
+            }
+            switch (predicate) {
+                case "task/3":
+                    int employeeCount = this.parseInteger(atom, arguments.get(1));
+                    int duration = this.parseInteger(atom, arguments.get(2));
+                    if (employeeCount < 0 || duration < 0 || taskIndices.containsKey(arguments.get(0))) break;
+                    taskIndices.put(arguments.get(0), taskValues.size());
+                    taskValues.add(new int[]{employeeCount, duration});
+                    break;
+                case "depends_on/2":
+                    dependencies.add(new String[]{arguments.get(0), arguments.get(1)});
+                    break;
+                case "max_employee_count/1":
+                    maxEmployeeCount = this.parseInteger(atom, arguments.get(0));
+                    break;
+                case "max_project_duration/1":
+                    // every maximum project duration constrains the plans of the logic program
+                    int projectDuration = this.parseInteger(atom, arguments.get(0));
+                    if (projectDuration < 0) break;
+                    this.maxProjectDurationAtoms.add(atom);
+                    maxProjectDuration = (maxProjectDuration < 0) ? projectDuration
+                            : Math.min(maxProjectDuration, projectDuration);
+                    break;
+            }
+        }
+        this.maxEmployeeCount = maxEmployeeCount;
+        this.maxProjectDuration = maxProjectDuration;
+        this.maxInputInteger = maxInputInteger;
+
+        int taskCount = taskValues.size();
+        this.taskNames.addAll(taskIndices.keySet());
+        this.employeeCounts = new int[taskCount];
+        this.durations = new int[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            this.employeeCounts[i] = taskValues.get(i)[0];
+            this.durations[i] = taskValues.get(i)[1];
+        }
+
+        // collect dependencies between known tasks
+        List<Set<Integer>> predecessorSets = new ArrayList<>();
+        List<Set<Integer>> successorSets = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            predecessorSets.add(new LinkedHashSet<>());
+            successorSets.add(new LinkedHashSet<>());
+        }
+        for (String[] dependency : dependencies) {
+            Integer task = taskIndices.get(dependency[0]);
+            Integer predecessor = taskIndices.get(dependency[1]);
+            if (task == null || predecessor == null) continue;
+            predecessorSets.get(task).add(predecessor);
+            successorSets.get(predecessor).add(task);
+        }
+        this.predecessors = toArrays(predecessorSets);
+        this.successors = toArrays(successorSets);
+
+        // topological order of the tasks, tasks on dependency cycles are appended in input order
+        this.topologicalOrder = new int[taskCount];
+        int[] remainingPredecessors = new int[taskCount];
+        Deque<Integer> readyTasks = new ArrayDeque<>();
+        for (int i = 0; i < taskCount; i++) {
+            remainingPredecessors[i] = this.predecessors[i].length;
+            if (remainingPredecessors[i] == 0) readyTasks.add(i);
+        }
+        int orderedCount = 0;
+        while (!readyTasks.isEmpty()) {
+            int task = readyTasks.poll();
+            this.topologicalOrder[orderedCount++] = task;
+            for (int successor : this.successors[task]) {
+                if (--remainingPredecessors[successor] == 0) readyTasks.add(successor);
+            }
+        }
+        this.acyclic = orderedCount == taskCount;
+
+        // earliest start of every task (forward pass), tasks on or after dependency cycles may start at time 0
+        this.earliestStarts = new int[taskCount];
+        for (int i = 0; i < orderedCount; i++) {
+            int task = this.topologicalOrder[i];
+            for (int predecessor : this.predecessors[task]) {
+                int predecessorEnd = this.earliestStarts[predecessor] + this.durations[predecessor];
+                this.earliestStarts[task] = Math.max(this.earliestStarts[task], predecessorEnd);
+            }
+        }
+        for (int i = 0; i < taskCount && orderedCount < taskCount; i++) {
+            if (remainingPredecessors[i] > 0) this.topologicalOrder[orderedCount++] = i;
+        }
+
+        // longest dependency chain from every task to the end of the project, including the task itself (backward pass)
+        this.tails = new int[taskCount];
+        for (int i = taskCount - 1; i >= 0; i--) {
+            int task = this.topologicalOrder[i];
+            int successorTail = 0;
+            for (int successor : this.successors[task]) successorTail = Math.max(successorTail, this.tails[successor]);
+            this.tails[task] = this.durations[task] + successorTail;
+        }
+    }
+
+    /**
+     * Create the answer set of the logic program which corresponds to the given schedule. The answer set contains the
+     * input atoms and the atoms 'planned_task/3', 'project_duration/1', 'full_utilization_duration/1',
+     * 'partial_utilization_duration/1' and 'bad_utilization', which are derived like in the logic program.
+     *
+     * @param startTimes start time of every task of the problem
+     * @return atoms of the answer set for the given schedule
+     */
+    public List<Atom> createAnswerSet(int[] startTimes) {
+        List<Atom> answerSet = new ArrayList<>(this.inputAtoms);
+        int projectDuration = 0;
+        for (int task = 0; task < this.getTaskCount(); task++) {
+            int endTime = startTimes[task] + this.durations[task];
+            projectDuration = Math.max(projectDuration, endTime);
+            answerSet.add(new SymbolAtom("planned_task", Arrays.asList(this.taskNames.get(task),
+                    String.valueOf(startTimes[task]), String.valueOf(endTime))));
+        }
+        if (this.getTaskCount() == 0) return answerSet;
+        answerSet.add(new SymbolAtom("project_duration", Collections.singletonList(String.valueOf(projectDuration))));
+        if (this.maxEmployeeCount < 0) return answerSet;
+
+        // count the time points of the project at which all employees are assigned to tasks
+        int[] employeeProfile = this.getEmployeeProfile(startTimes, projectDuration);
+        int fullUtilizationDuration = 0;
+        for (int employeeCount : employeeProfile) {
+            if (employeeCount == this.maxEmployeeCount) fullUtilizationDuration++;
+        }
+        int partialUtilizationDuration = projectDuration - fullUtilizationDuration;
+        answerSet.add(new SymbolAtom("full_utilization_duration",
+                Collections.singletonList(String.valueOf(fullUtilizationDuration))));
+        answerSet.add(new SymbolAtom("partial_utilization_duration",
+                Collections.singletonList(String.valueOf(partialUtilizationDuration))));
+        if (fullUtilizationDuration * 3 < partialUtilizationDuration) {
+            answerSet.add(new SymbolAtom("bad_utilization", Collections.emptyList()));
+        }
+        return answerSet;
+    }
+
+    /**
+     * Calculate the cost of the given schedule for the given objective. The cost equals the cost of the respective
+     * answer set under the weak constraints of the objective: the project duration for
+     * {@link PlanningObjective#PROJECT_DURATION} and the number of time points up to the integer bound without full
+     * staff utilization for {@link PlanningObjective#FULL_UTILIZATION}.
+     *
+     * @param startTimes start time of every task of the problem
+     * @param objective  objective of which the cost is calculated
+     * @return cost of the given schedule, 0 if the objective is not optimizing
+     */
+    public int getCost(int[] startTimes, PlanningObjective objective) {
+        int projectDuration = 0;
+        for (int task = 0; task < this.getTaskCount(); task++) {
+            projectDuration = Math.max(projectDuration, startTimes[task] + this.durations[task]);
+        }
+
+        switch (objective) {
+            case PROJECT_DURATION:
+                return projectDuration;
+            case FULL_UTILIZATION:
+                int fullUtilizationDuration = 0;
+                for (int employeeCount : this.getEmployeeProfile(startTimes, projectDuration)) {
+                    if (employeeCount == this.maxEmployeeCount) fullUtilizationDuration++;
+                }
+                return this.getIntegerBound() + 1 - fullUtilizationDuration;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Calculate the number of assigned employees at every time point of the given schedule.
+     *
+     * @param startTimes      start time of every task of the problem
+     * @param projectDuration number of time points which are calculated
+     * @return number of assigned employees at every time point between 0 and the project duration
+     */
+    public int[] getEmployeeProfile(int[] startTimes, int projectDuration) {
+        int[] profile = new int[projectDuration + 1];
+        for (int task = 0; task < this.getTaskCount(); task++) {
+            if (this.durations[task] == 0) continue;
+            profile[startTimes[task]] += this.employeeCounts[task];
+            profile[startTimes[task] + this.durations[task]] -= this.employeeCounts[task];
+        }
+        for (int time = 1; time <= projectDuration; time++) profile[time] += profile[time - 1];
+        return Arrays.copyOf(profile, projectDuration);
+    }
+
+    /**
+     * Check if the given schedule is a plan of the project planning logic program. Every task of a plan starts at time
+     * 0 or at the end of a task with a positive duration (tasks without duration cannot support each other), no task
+     * starts before its predecessors are completed, the maximum employee count is never exceeded and no task ends
+     * after the maximum project duration.
+     *
+     * @param startTimes start time of every task of the problem
+     * @return true if the given schedule is a plan of the logic program
+     */
+    public boolean isPlan(int[] startTimes) {
+        int taskCount = this.getTaskCount();
+        if (startTimes == null || startTimes.length != taskCount) return false;
+
+        Set<Integer> endTimes = new HashSet<>();
+        int projectDuration = 0;
+        for (int task = 0; task < taskCount; task++) {
+            if (startTimes[task] < 0) return false;
+            long end = (long) startTimes[task] + this.durations[task];
+            if (end > this.getHorizon()) return false;
+            if (this.durations[task] > 0) endTimes.add((int) end);
+            projectDuration = Math.max(projectDuration, (int) end);
+        }
+
+        for (int task = 0; task < taskCount; task++) {
+            if (startTimes[task] != 0 && !endTimes.contains(startTimes[task])) return false;
+            for (int predecessor : this.predecessors[task]) {
+                if (startTimes[predecessor] + this.durations[predecessor] > startTimes[task]) return false;
+            }
+        }
+
+        if (this.maxEmployeeCount < 0) return true;
+        for (int employeeCount : this.getEmployeeProfile(startTimes, projectDuration)) {
+            if (employeeCount > this.maxEmployeeCount) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Extract the start times of the tasks of the problem from the 'planned_task' atoms of the given answer set.
+     *
+     * @param answerSet atoms of an answer set of the logic program
+     * @return start time of every task of the problem, null if the answer set does not plan every task of the problem
+     */
+    public int[] getStartTimes(List<Atom> answerSet) {
+        Map<String, Integer> taskIndices = new HashMap<>();
+        for (int task = 0; task < this.getTaskCount(); task++) taskIndices.put(this.getTaskName(task), task);
+
+        int[] startTimes = new int[this.getTaskCount()];
+        boolean[] planned = new boolean[this.getTaskCount()];
+        int plannedTaskCount = 0;
+        for (Atom atom : answerSet) {
+            List<String> arguments = atom.getArguments();
+            if (!"planned_task".equals(atom.getPredicateName()) || arguments.size() != 3) continue;
+            Integer task = taskIndices.get(arguments.get(0));
+            if (task == null || planned[task]) continue;
+            try {
+                startTimes[task] = Integer.parseInt(arguments.get(1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            planned[task] = true;
+            plannedTaskCount++;
+        }
+        return (plannedTaskCount == this.getTaskCount()) ? startTimes : null;
+    }
+
+    /**
+     * Calculate the latest end time of a task in a plan of the problem. Every task of a plan starts at time 0 or at the
+     * end of another task, therefore no plan is longer than the sum of the durations of all tasks.
+     *
+     * @return latest end time of a task, which is bounded by the maximum project duration and the sum of the durations
+     * of all tasks
+     */
+    public int getHorizon() {
+        long durationSum = 0;
+        for (int duration : this.durations) durationSum += duration;
+        int horizon = (int) Math.min(durationSum, Integer.MAX_VALUE);
+        return (this.maxProjectDuration >= 0) ? Math.min(this.maxProjectDuration, horizon) : horizon;
+    }
+
+    /**
+     * Calculate a lower bound of the project duration: no plan is shorter than the longest dependency chain and the
+     * total work of all tasks divided by the maximum employee count.
+     *
+     * @return lower bound of the project duration of every plan of the problem
+     */
+    public int getLowerBound() {
+        long lowerBound = 0;
+        long work = 0;
+        for (int task = 0; task < this.getTaskCount(); task++) {
+            lowerBound = Math.max(lowerBound, this.tails[task]);
+            work += (long) this.employeeCounts[task] * this.durations[task];
+        }
+        if (this.maxEmployeeCount > 0) {
+            lowerBound = Math.max(lowerBound, (work + this.maxEmployeeCount - 1) / this.maxEmployeeCount);
+        }
+        return (int) Math.min(lowerBound, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Calculate the maximum integer which is needed by the logic program solver to solve the problem ('#maxint').
+     * All time points of a plan are bounded by the horizon, all employee counts are bounded by the sum of the employee
+     * counts of all tasks and all integers of the input atoms must be representable. The maximum project duration is
+     * not part of the bound, as the solver receives the horizon instead ({@link #getSolverAtoms()}).
+     *
+     * @return maximum integer which is needed to solve the problem
+     */
+    public int getIntegerBound() {
+        long employeeCountSum = 0;
+        for (int employeeCount : this.employeeCounts) employeeCountSum += employeeCount;
+        long integerBound = Math.max(Math.max(this.getHorizon(), employeeCountSum), this.maxInputInteger);
+        return (int) Math.min(integerBound, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create the input atoms which are passed to the logic program solver. The 'max_project_duration/1' atoms are
+     * replaced by a single atom with the horizon, which allows the same plans, so that a loose maximum project
+     * duration does not raise the integer bound of the solver.
+     *
+     * @return input atoms of the problem with the horizon as maximum project duration
+     */
+    public List<Atom> getSolverAtoms() {
+        if (this.maxProjectDurationAtoms.isEmpty()) return this.getInputAtoms();
+        List<Atom> solverAtoms = new ArrayList<>(this.inputAtoms);
+        solverAtoms.removeAll(this.maxProjectDurationAtoms);
+        solverAtoms.add(this.getHorizonAtom());
+        return solverAtoms;
+    }
+
+    /**
+     * Replace the maximum project duration of the solver input ({@link #getSolverAtoms()}) in an answer set of the
+     * logic program solver with the 'max_project_duration/1' atoms of the input atoms, so that the answer set
+     * contains the input atoms of the problem.
+     *
+     * @param answerSet answer set which was computed for the solver atoms of the problem
+     * @return answer set with the input atoms of the problem
+     */
+    public List<Atom> restoreInputAtoms(List<Atom> answerSet) {
+        if (this.maxProjectDurationAtoms.isEmpty()) return answerSet;
+        Atom horizonAtom = this.getHorizonAtom();
+        List<Atom> restoredAnswerSet = new ArrayList<>(answerSet.size() + this.maxProjectDurationAtoms.size());
+        for (Atom atom : answerSet) {
+            if (horizonAtom.equals(atom)) restoredAnswerSet.addAll(this.maxProjectDurationAtoms);
+            else restoredAnswerSet.add(atom);
+        }
+        return restoredAnswerSet;
+    }
+
+    /**
+     * @return number of tasks of the problem
+     */
+    public int getTaskCount() {
+        return this.taskNames.size();
+    }
+
+    /**
+     * @param task index of a task
+     * @return name of the task with the given index
+     */
+    public String getTaskName(int task) {
+        return this.taskNames.get(task);
+    }
+
+    /**
+     * @param task index of a task
+     * @return number of employees which are assigned to the task with the given index
+     */
+    public int getEmployeeCount(int task) {
+        return this.employeeCounts[task];
+    }
+
+    /**
+     * @param task index of a task
+     * @return duration of the task with the given index
+     */
+    public int getDuration(int task) {
+        return this.durations[task];
+    }
+
+    /**
+     * @param task index of a task
+     * @return indices of the tasks which must be completed before the task with the given index starts
+     */
+    public int[] getPredecessors(int task) {
+        return this.predecessors[task];
+    }
+
+    /**
+     * @param task index of a task
+     * @return indices of the tasks which must not start before the task with the given index is completed
+     */
+    public int[] getSuccessors(int task) {
+        return this.successors[task];
+    }
+
+    /**
+     * @param task index of a task
+     * @return length of the longest dependency chain from the task with the given index to the end of the project,
+     * including the duration of the task itself
+     */
+    public int getTail(int task) {
+        return this.tails[task];
+    }
+
+    /**
+     * @param task index of a task
+     * @return earliest start time of the task with the given index, which is the end of the longest dependency chain
+     * before the task
+     */
+    public int getEarliestStart(int task) {
+        return this.earliestStarts[task];
+    }
+
+    /**
+     * @param task index of a task
+     * @return latest start time of the task with the given index, so that the task and all tasks which depend on it can
+     * be completed before the horizon (negative if the task cannot be completed before the horizon)
+     */
+    public int getLatestStart(int task) {
+        return this.getHorizon() - this.tails[task];
+    }
+
+    /**
+     * Create the atoms 'start_window(Name,EarliestStart,LatestStart)', which restrict the start times of the tasks in
+     * the logic program. Every plan of the problem starts all tasks within their windows, therefore the atoms do not
+     * change the answer sets of the logic program. No atom is created for a task which cannot be started within the
+     * horizon, so that the task cannot be planned.
+     *
+     * @return start window atoms of all tasks which can be started within the horizon
+     */
+    public List<Atom> getStartWindowAtoms() {
+        List<Atom> startWindowAtoms = new ArrayList<>();
+        for (int task = 0; task < this.getTaskCount(); task++) {
+            int earliestStart = this.getEarliestStart(task);
+            int latestStart = this.getLatestStart(task);
+            if (latestStart < earliestStart) continue;
+            startWindowAtoms.add(new SimpleAtom("start_window", Arrays.asList(this.taskNames.get(task),
+                    String.valueOf(earliestStart), String.valueOf(latestStart))));
+        }
+        return startWindowAtoms;
+    }
+
+    /**
+     * @return indices of all tasks in an order in which every task follows its predecessors (tasks on dependency
+     * cycles are appended in input order)
+     */
+    public int[] getTopologicalOrder() {
+        return this.topologicalOrder.clone();
+    }
+
+    /**
+     * @return true if the dependencies between the tasks do not contain a cycle
+     */
+    public boolean isAcyclic() {
+        return this.acyclic;
+    }
+
+    /**
+     * @return maximum number of employees which can be assigned at the same time (-1 if unlimited)
+     */
+    public int getMaxEmployeeCount() {
+        return this.maxEmployeeCount;
+    }
+
+    /**
+     * @return maximum duration of the project (-1 if unlimited)
+     */
+    public int getMaxProjectDuration() {
+        return this.maxProjectDuration;
+    }
+
+    /**
+     * @return input atoms from which the problem was built
+     */
+    public List<Atom> getInputAtoms() {
+        return Collections.unmodifiableList(this.inputAtoms);
+    }
+
+    /**
+     * @return warnings about input atoms which were ignored, because their arguments are invalid
+     */
+    public List<String> getWarnings() {
+        return Collections.unmodifiableList(this.warnings);
+    }
+
+    /**
+     * @return atom 'max_project_duration(Horizon)', which is passed to the solver instead of the maximum project
+     * duration of the input atoms
+     */
+    private Atom getHorizonAtom() {
+        return new SimpleAtom("max_project_duration", Collections.singletonList(String.valueOf(this.getHorizon())));
+    }
+
+    /**
+     * Parse the given argument of the given atom as non-negative integer. If the argument is not a valid integer, a
+     * warning is added to the problem.
+     *
+     * @param atom     atom of which the argument is parsed
+     * @param argument argument which is parsed
+     * @return integer value of the argument, -1 if the argument is not a valid integer
+     */
+    private int parseInteger(Atom atom, String argument) {
+        try {
+            int value = Integer.parseInt(argument);
+            if (value >= 0) return value;
+        } catch (NumberFormatException e) {
+            // reported as warning below
+        }
+        this.warnings.add(String.format("ignoring atom with invalid integer argument: %s",
+                atom.getStringRepresentation()));
+        return -1;
+    }
+
+    /**
+     * @param argument argument of an atom
+     * @return integer value of the argument, 0 if the argument is not a non-negative integer
+     */
+    private static int toInteger(String argument) {
+        if (argument.isEmpty() || argument.length() > 9) return 0;
+        for (int i = 0; i < argument.length(); i++) {
+            if (!Character.isDigit(argument.charAt(i))) return 0;
+        }
+        return Integer.parseInt(argument);
+    }
+
+    /**
+     * @param sets list of index sets
+     * @return array of index arrays with the content of the given sets
+     */
+    private static int[][] toArrays(List<Set<Integer>> sets) {
+        int[][] arrays = new int[sets.size()][];
+        for (int i = 0; i < sets.size(); i++) arrays[i] = sets.get(i).stream().mapToInt(Integer::intValue).toArray();
+        return arrays;
+    }
+}
@@ -0,0 +1,181 @@
+package aspguidp.service.core.asp;
+
+import aspguidp.Main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Configuration class which holds a named backend of the logic program solver: either the in-process scheduling
+ * engine ('java') or a configuration of the dlv solver, which consists of additional command line arguments of the
+ * dlv solver and the encoding of the project planning problem.
+ * <p>
+ * The backends are selected by a comma separated list of backend names (for example: 'dlv,java'). The names 'dlv'
+ * (the dlv solver with the default encoding) and 'java' are predefined. Further dlv configurations are defined by
+ * java system properties with the name of the backend (for example:
+ * 'java -Daspguidp.solver.backend=dlv,nobj -Daspguidp.solver.backend.nobj.arguments=-OH- -jar ...'):
+ * <ul>
+ * <li>'aspguidp.solver.backend.&lt;name&gt;.arguments': whitespace separated command line arguments of dlv</li>
+ * <li>'aspguidp.solver.backend.&lt;name&gt;.encoding': resource or file path of an alternative encoding, which must
+ * produce the same answer sets as the default encoding</li>
+ * </ul>
+ * The properties can also be used to change the predefined 'dlv' backend.
+ */
+public class SolverBackend {
+    public static final String defaultLogicProgramPath = "/asp/logic-program.dl";
+    public static final SolverBackend DLV = new SolverBackend("dlv", false, Collections.emptyList(),
+            defaultLogicProgramPath);
+    public static final SolverBackend JAVA = new SolverBackend("java", true, Collections.emptyList(),
+            defaultLogicProgramPath);
+
+    private final String name;
+    private final boolean inProcess;
+    private final List<String> solverArguments;
+    private final String logicProgramPath;
+
+    /**
+     * Create a new solver backend.
+     *
+     * @param name             name of the backend, which identifies the backend in a portfolio
+     * @param inProcess        true if the backend is the in-process scheduling engine instead of the dlv solver
+     * @param solverArguments  additional command line arguments of the dlv solver
+     * @param logicProgramPath resource or file path of the encoding of the project planning problem
+     */
+    public SolverBackend(String name, boolean inProcess, List<String> solverArguments, String logicProgramPath) {
+        this.name = name;
+        this.inProcess = inProcess;
+        this.solverArguments = Collections.unmodifiableList(new ArrayList<>(solverArguments));
+        this.logicProgramPath = logicProgramPath;
+    }
+
+    /**
+     * Find the backends which are selected by the given value of the solver configuration. Backends which are not
+     * predefined are read from the respective java system properties.
+     *
+     * @param propertyValue comma separated list of backend names
+     * @return selected backends in the order of the given list
+     * @throws IllegalArgumentException if a backend name is unknown or selected more than once
+     */
+    public static List<SolverBackend> fromPropertyValue(String propertyValue) {
+        List<SolverBackend> backends = new ArrayList<>();
+        for (String name : propertyValue.split(",")) backends.add(fromSystemProperties(name.trim()));
+        return backends;
+    }
+
+    /**
+     * Create the backend with the given name from the respective java system properties.
+     *
+     * @param name name of the backend
+     * @return backend with the given name
+     * @throws IllegalArgumentException if the backend is neither predefined nor defined by a system property
+     */
+    public static SolverBackend fromSystemProperties(String name) {
+        String arguments = System.getProperty("aspguidp.solver.backend." + name + ".arguments");
+        String encoding = System.getProperty("aspguidp.solver.backend." + name + ".encoding");
+        if (JAVA.name.equals(name)) {
+            if (arguments != null || encoding != null) {
+                throw new IllegalArgumentException("solver backend 'java' has no arguments and no encoding");
+            }
+            return JAVA;
+        }
+        if (!DLV.name.equals(name) && arguments == null && encoding == null) {
+            throw new IllegalArgumentException(String.format("unknown solver backend '%s'", name));
+        }
+
+        List<String> solverArguments = (arguments != null && !arguments.trim().isEmpty())
+                ? Arrays.asList(arguments.trim().split("\\s+")) : Collections.emptyList();
+        String logicProgramPath = (encoding != null) ? encoding : defaultLogicProgramPath;
+        return new SolverBackend(name, false, solverArguments, logicProgramPath);
+    }
+
+    /**
+     * Check that the given backends can be executed together.
+     *
+     * @param backends backends which are selected by the solver configuration
+     * @throws IllegalArgumentException if no backend is given or a backend name is used more than once
+     */
+    public static void validate(List<SolverBackend> backends) {
+        if (backends.isEmpty()) throw new IllegalArgumentException("no solver backend selected");
+        Set<String> names = new HashSet<>();
+        for (SolverBackend backend : backends) {
+            if (!names.add(backend.getName())) {
+                throw new IllegalArgumentException(String.format("solver backend '%s' is selected more than once",
+                        backend.getName()));
+            }
+        }
+    }
+
+    /**
+     * @return name of the backend, which identifies the backend in a portfolio
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return true if the backend is the in-process scheduling engine instead of the dlv solver
+     */
+    public boolean isInProcess() {
+        return this.inProcess;
+    }
+
+    /**
+     * @return additional command line arguments of the dlv solver
+     */
+    public List<String> getSolverArguments() {
+        return this.solverArguments;
+    }
+
+    /**
+     * @return resource or file path of the encoding of the project planning problem
+     */
+    public String getLogicProgramPath() {
+        return this.logicProgramPath;
+    }
+
+    /**
+     * Read the encoding of the backend from the program resources or, if there is no resource with the path of the
+     * encoding, from the file system.
+     *
+     * @return logic program content of the encoding
+     * @throws UncheckedIOException if the encoding could not be read
+     */
+    public String readLogicProgram() {
+        InputStream programFileStream = Main.class.getResourceAsStream(this.logicProgramPath);
+        try {
+            if (programFileStream == null) {
+                return new String(Files.readAllBytes(Paths.get(this.logicProgramPath)), StandardCharsets.UTF_8);
+            }
+            try (BufferedReader programFileReader = new BufferedReader(new InputStreamReader(programFileStream))) {
+                return programFileReader.lines().collect(Collectors.joining("\n"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The description contains all settings of the backend (for example: for the result fingerprint of the solver
+     * configuration).
+     */
+    @Override
+    public String toString() {
+        if (this.inProcess) return this.name;
+        return String.format("%s%s@%s", this.name, this.solverArguments, this.logicProgramPath);
+    }
+}
@@ -0,0 +1,395 @@
+package aspguidp.service.core.asp;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Configuration class which holds the settings of the logic program solver of the application.
+ * <p>
+ * The settings can be passed to the application as java system properties (for example:
+ * 'java -Daspguidp.solver.modelLimit=1000 -jar project-planning.asp.jar'). A value of 0 disables the respective
+ * limitation.
+ * <p>
+ * Usually, only one solver configuration instance is used in the application, which is accessed through the
+ * {@link aspguidp.service.core.CoreServicePool} instance of the application.
+ */
+public class SolverConfiguration {
+    private int modelLimit = 0;
+    private int answerSetPageSize = 0;
+    private int resultCacheSize = 32;
+    private int resultCacheMemory = 64;
+    private int diskCacheSize = 128;
+    private int timeLimit = 0;
+    private int outputLimit = 0;
+    private int answerSetLimit = 0;
+    private int processPoolSize = 1;
+    private List<SolverBackend> backends = Collections.singletonList(SolverBackend.DLV);
+    private boolean decomposition = false;
+    private boolean preChecks = true;
+    private PlanningObjective objective = PlanningObjective.NONE;
+    private boolean heuristic = true;
+    private int localSearchTime = 0;
+    private int repairLimit = 0;
+    private int speculationDelay = 0;
+    private int horizonProbes = 0;
+    private Path diskCacheDirectory = Paths.get(System.getProperty("user.home"), ".aspguidp", "cache");
+
+    /**
+     * Create a new solver configuration which is initialized with the values of the respective java system properties.
+     *
+     * @return solver configuration instance with values of the java system properties
+     */
+    public static SolverConfiguration fromSystemProperties() {
+        SolverConfiguration configuration = new SolverConfiguration();
+        configuration.setModelLimit(Integer.getInteger("aspguidp.solver.modelLimit", 0));
+        configuration.setAnswerSetPageSize(Integer.getInteger("aspguidp.solver.pageSize", 0));
+        configuration.setResultCacheSize(Integer.getInteger("aspguidp.solver.cacheSize", 32));
+        configuration.setResultCacheMemory(Integer.getInteger("aspguidp.solver.cacheMemory", 64));
+        configuration.setDiskCacheSize(Integer.getInteger("aspguidp.solver.diskCacheSize", 128));
+        configuration.setTimeLimit(Integer.getInteger("aspguidp.solver.timeLimit", 0));
+        configuration.setOutputLimit(Integer.getInteger("aspguidp.solver.outputLimit", 0));
+        configuration.setAnswerSetLimit(Integer.getInteger("aspguidp.solver.answerSetLimit", 0));
+        configuration.setProcessPoolSize(Integer.getInteger("aspguidp.solver.processPoolSize", 1));
+        configuration.setBackends(SolverBackend.fromPropertyValue(
+                System.getProperty("aspguidp.solver.backend", "dlv")));
+        configuration.setDecomposition(Boolean.getBoolean("aspguidp.solver.decomposition"));
+        configuration.setPreChecks(Boolean.parseBoolean(System.getProperty("aspguidp.solver.preChecks", "true")));
+        configuration.setObjective(PlanningObjective.fromPropertyValue(
+                System.getProperty("aspguidp.solver.objective", "none")));
+        configuration.setHeuristic(Boolean.parseBoolean(System.getProperty("aspguidp.solver.heuristic", "true")));
+        configuration.setLocalSearchTime(Integer.getInteger("aspguidp.solver.localSearchTime", 0));
+        configuration.setRepairLimit(Integer.getInteger("aspguidp.solver.repairLimit", 0));
+        configuration.setSpeculationDelay(Integer.getInteger("aspguidp.solver.speculationDelay", 0));
+        configuration.setHorizonProbes(Integer.getInteger("aspguidp.solver.horizonProbes", 0));
+        String diskCacheDirectory = System.getProperty("aspguidp.solver.diskCacheDirectory");
+        if (diskCacheDirectory != null) configuration.setDiskCacheDirectory(Paths.get(diskCacheDirectory));
+        return configuration;
+    }
+
+    /**
+     * @return maximum number of answer sets which are computed by the logic program solver (0 means unlimited)
+     */
+    public int getModelLimit() {
+        return this.modelLimit;
+    }
+
+    /**
+     * @param modelLimit maximum number of answer sets which are computed by the logic program solver (0 means
+     *                   unlimited)
+     */
+    public void setModelLimit(int modelLimit) {
+        this.modelLimit = Math.max(0, modelLimit);
+    }
+
+    /**
+     * @return number of answer sets which are loaded at once into the answer set manager (0 means all answer sets)
+     */
+    public int getAnswerSetPageSize() {
+        return this.answerSetPageSize;
+    }
+
+    /**
+     * @param answerSetPageSize number of answer sets which are loaded at once into the answer set manager (0 means all
+     *                          answer sets)
+     */
+    public void setAnswerSetPageSize(int answerSetPageSize) {
+        this.answerSetPageSize = Math.max(0, answerSetPageSize);
+    }
+
+    /**
+     * @return maximum number of solver results which are cached in memory (0 means results are not cached)
+     */
+    public int getResultCacheSize() {
+        return this.resultCacheSize;
+    }
+
+    /**
+     * @param resultCacheSize maximum number of solver results which are cached in memory (0 means results are not
+     *                        cached)
+     */
+    public void setResultCacheSize(int resultCacheSize) {
+        this.resultCacheSize = Math.max(0, resultCacheSize);
+    }
+
+    /**
+     * @return maximum estimated memory size of the cached solver results in megabytes
+     */
+    public int getResultCacheMemory() {
+        return this.resultCacheMemory;
+    }
+
+    /**
+     * @param resultCacheMemory maximum estimated memory size of the cached solver results in megabytes
+     */
+    public void setResultCacheMemory(int resultCacheMemory) {
+        this.resultCacheMemory = Math.max(0, resultCacheMemory);
+    }
+
+    /**
+     * @return maximum total size of the solver result files in the disk cache in megabytes (0 means results are not
+     * cached on disk)
+     */
+    public int getDiskCacheSize() {
+        return this.diskCacheSize;
+    }
+
+    /**
+     * @param diskCacheSize maximum total size of the solver result files in the disk cache in megabytes (0 means
+     *                      results are not cached on disk)
+     */
+    public void setDiskCacheSize(int diskCacheSize) {
+        this.diskCacheSize = Math.max(0, diskCacheSize);
+    }
+
+    /**
+     * @return directory in which the solver result files of the disk cache are stored
+     */
+    public Path getDiskCacheDirectory() {
+        return this.diskCacheDirectory;
+    }
+
+    /**
+     * @param diskCacheDirectory directory in which the solver result files of the disk cache are stored
+     */
+    public void setDiskCacheDirectory(Path diskCacheDirectory) {
+        this.diskCacheDirectory = diskCacheDirectory;
+    }
+
+    /**
+     * @return maximum wall-clock time of a solver run in seconds, after which the solver is stopped (0 means
+     * unlimited)
+     */
+    public int getTimeLimit() {
+        return this.timeLimit;
+    }
+
+    /**
+     * @param timeLimit maximum wall-clock time of a solver run in seconds, after which the solver is stopped (0 means
+     *                  unlimited)
+     */
+    public void setTimeLimit(int timeLimit) {
+        this.timeLimit = Math.max(0, timeLimit);
+    }
+
+    /**
+     * @return maximum size of the solver output in megabytes, after which the solver is stopped (0 means unlimited)
+     */
+    public int getOutputLimit() {
+        return this.outputLimit;
+    }
+
+    /**
+     * @param outputLimit maximum size of the solver output in megabytes, after which the solver is stopped (0 means
+     *                    unlimited)
+     */
+    public void setOutputLimit(int outputLimit) {
+        this.outputLimit = Math.max(0, outputLimit);
+    }
+
+    /**
+     * @return maximum number of answer sets of a solver run, after which the solver is stopped (0 means unlimited)
+     */
+    public int getAnswerSetLimit() {
+        return this.answerSetLimit;
+    }
+
+    /**
+     * @param answerSetLimit maximum number of answer sets of a solver run, after which the solver is stopped (0 means
+     *                       unlimited)
+     */
+    public void setAnswerSetLimit(int answerSetLimit) {
+        this.answerSetLimit = Math.max(0, answerSetLimit);
+    }
+
+    /**
+     * @return number of pre-started solver processes which wait for the next execution (0 means processes are started
+     * on execution)
+     */
+    public int getProcessPoolSize() {
+        return this.processPoolSize;
+    }
+
+    /**
+     * @param processPoolSize number of pre-started solver processes which wait for the next execution (0 means
+     *                        processes are started on execution)
+     */
+    public void setProcessPoolSize(int processPoolSize) {
+        this.processPoolSize = Math.max(0, processPoolSize);
+    }
+
+    /**
+     * @return solver backends which execute the logic program (several backends are executed as parallel portfolio)
+     */
+    public List<SolverBackend> getBackends() {
+        return this.backends;
+    }
+
+    /**
+     * @param backends solver backends which execute the logic program (several backends are executed as parallel
+     *                 portfolio)
+     * @throws IllegalArgumentException if no backend is given or a backend name is used more than once
+     */
+    public void setBackends(List<SolverBackend> backends) {
+        SolverBackend.validate(backends);
+        this.backends = Collections.unmodifiableList(new ArrayList<>(backends));
+    }
+
+    /**
+     * @return true if independent components of the project planning problem are solved separately in parallel
+     */
+    public boolean isDecomposition() {
+        return this.decomposition;
+    }
+
+    /**
+     * @param decomposition true if independent components of the project planning problem are solved separately in
+     *                      parallel
+     */
+    public void setDecomposition(boolean decomposition) {
+        this.decomposition = decomposition;
+    }
+
+    /**
+     * @return true if the input is checked for obvious infeasibility before the logic program solver is started
+     */
+    public boolean isPreChecks() {
+        return this.preChecks;
+    }
+
+    /**
+     * @param preChecks true if the input is checked for obvious infeasibility before the logic program solver is
+     *                  started
+     */
+    public void setPreChecks(boolean preChecks) {
+        this.preChecks = preChecks;
+    }
+
+    /**
+     * @return objective which is optimized by the logic program solver ({@link PlanningObjective#NONE} enumerates all
+     * plans)
+     */
+    public PlanningObjective getObjective() {
+        return this.objective;
+    }
+
+    /**
+     * @param objective objective which is optimized by the logic program solver
+     */
+    public void setObjective(PlanningObjective objective) {
+        this.objective = objective;
+    }
+
+    /**
+     * @return true if a provisional plan is computed by a heuristic and displayed while the logic program solver is
+     * running
+     */
+    public boolean isHeuristic() {
+        return this.heuristic;
+    }
+
+    /**
+     * @param heuristic true if a provisional plan is computed by a heuristic and displayed while the logic program
+     *                  solver is running
+     */
+    public void setHeuristic(boolean heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * @return time in seconds for which the plans of the solver are improved by a local search (0 means disabled)
+     */
+    public int getLocalSearchTime() {
+        return this.localSearchTime;
+    }
+
+    /**
+     * @param localSearchTime time in seconds for which the plans of the solver are improved by a local search (0 means
+     *                        disabled)
+     */
+    public void setLocalSearchTime(int localSearchTime) {
+        this.localSearchTime = Math.max(0, localSearchTime);
+    }
+
+    /**
+     * @return maximum number of changed input atoms for which the displayed plan is repaired instead of solving the
+     * logic program again (0 means disabled)
+     */
+    public int getRepairLimit() {
+        return this.repairLimit;
+    }
+
+    /**
+     * @param repairLimit maximum number of changed input atoms for which the displayed plan is repaired instead of
+     *                    solving the logic program again (0 means disabled)
+     */
+    public void setRepairLimit(int repairLimit) {
+        this.repairLimit = Math.max(0, repairLimit);
+    }
+
+    /**
+     * @return time in milliseconds for which the input must be ready and unchanged before the logic program is solved
+     * speculatively in the background (0 means disabled)
+     */
+    public int getSpeculationDelay() {
+        return this.speculationDelay;
+    }
+
+    /**
+     * @param speculationDelay time in milliseconds for which the input must be ready and unchanged before the logic
+     *                         program is solved speculatively in the background (0 means disabled)
+     */
+    public void setSpeculationDelay(int speculationDelay) {
+        this.speculationDelay = Math.max(0, speculationDelay);
+    }
+
+    /**
+     * @return number of parallel solver runs with tightened maximum project durations, which are used to search a
+     * plan with minimal project duration (0 means disabled)
+     */
+    public int getHorizonProbes() {
+        return this.horizonProbes;
+    }
+
+    /**
+     * @param horizonProbes number of parallel solver runs with tightened maximum project durations, which are used to
+     *                      search a plan with minimal project duration (0 means disabled)
+     */
+    public void setHorizonProbes(int horizonProbes) {
+        this.horizonProbes = Math.max(0, horizonProbes);
+    }
+
+    /**
+     * Build a fingerprint of the settings which change the result of a solver execution for a given input (for
+     * example: the backend, which determines the order of the answer sets, or the local search, which adds improved
+     * plans). Settings which only stop a solver run (for example: the time limit) are not part of the fingerprint, as
+     * the results of stopped runs are truncated.
+     *
+     * @return string which is equal for two configurations if they produce the same results
+     */
+    public String getResultFingerprint() {
+        return String.format("backends=%s;modelLimit=%d;objective=%s;decomposition=%b;preChecks=%b;horizonProbes=%d;"
+                        + "localSearchTime=%d", this.backends, this.modelLimit, this.objective, this.decomposition,
+                this.preChecks, this.horizonProbes, this.localSearchTime);
+    }
+
+    /**
+     * Calculate the number of answer sets which must be computed by the logic program solver for the given answer set
+     * window. The number is bounded by the model limit and the end of the answer set window. If an objective is
+     * optimized, the number is unlimited, as the solver only computes answer sets which improve the previous one and
+     * the last answer set is the optimal one.
+     *
+     * @param answerSetOffset number of answer sets which are skipped before answer sets are published
+     * @param answerSetCount  maximum number of answer sets which are published (0 means unlimited)
+     * @return number of answer sets which are computed by the logic program solver (0 means unlimited)
+     */
+    public int getModelCount(int answerSetOffset, int answerSetCount) {
+        if (this.objective.isOptimizing()) return 0;
+        int windowEnd = (answerSetCount > 0) ? answerSetOffset + answerSetCount : 0;
+        if (this.modelLimit == 0) return windowEnd;
+        if (windowEnd == 0) return this.modelLimit;
+        return Math.min(this.modelLimit, windowEnd);
+    }
+}
@@ -0,0 +1,484 @@
+package aspguidp.service.core.asp;
+
+import aspguidp.service.core.atom.Atom;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Task which represents a single execution of the logic program of an {@link AspSolverService} instance.
+ * <p>
+ * A solver execution runs the logic program solver on a background thread, so that the javafx application thread is
+ * not blocked while the solver is running. The execution can be used as handle by the graphical user interface:
+ * it provides observable properties for the status of the execution and can be cancelled at any time.
+ * <p>
+ * The answer set programming solver service which is executed registers cancel handlers to the execution (for
+ * example: a handler which destroys the solver process) and passes the output of the solver to the execution.
+ * Answer sets are published to the answer set manager of the execution as soon as they are read from the solver
+ * output. Answer sets which are published in quick succession are collected and forwarded to the answer set manager
+ * in a single step on the javafx application thread. The remaining messages of the solver are forwarded to the
+ * solver message manager after the solver terminated. If the execution is cancelled, nothing is forwarded to the
+ * managers afterwards and a provisional answer set of the execution is removed.
+ * <p>
+ * An execution can be restricted to a window of the answer sets of the logic program by an answer set offset and an
+ * answer set count. In this case, the solver service only publishes the answer sets of the respective window and
+ * signals, if there are further answer sets after the window. Further windows are loaded by page executions, which
+ * execute the logic program again with the same input atoms.
+ * <p>
+ * Detached executions are not connected to managers. They only collect the output of the solver service, which is
+ * passed to them (for example: to compare the results of several solver services before one result is published).
+ * A detached execution can forward its answer sets to another execution while the solver is still running (for
+ * example: if a speculative solver run is continued for an execution).
+ */
+public class SolverExecution extends Task<Void> {
+    private static final ExecutorService executorService = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "solver-execution");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AspSolverService solverService;
+    private final Collection<Atom> atoms;
+    private final SolverMessageManager solverMessageManager;
+    private final AnswerSetManager answerSetManager;
+    private final int answerSetOffset;
+    private final int answerSetCount;
+    private final List<Runnable> cancelHandlers = new ArrayList<>();
+    private final AnswerSetStore answerSetStore = new AnswerSetStore();
+    private final List<List<Atom>> pendingAnswerSets = new ArrayList<>();
+    private final StringBuilder solverMessageBuilder = new StringBuilder();
+    private final List<StreamStatistics> streamStatistics = new ArrayList<>();
+    private boolean flushScheduled = false;
+    private SolverExecution forwardExecution = null;
+    private List<Atom> heuristicAnswerSet = null;
+    private volatile boolean moreAnswerSetsAvailable = false;
+    private volatile String truncationReason = null;
+    private volatile int cost = -1;
+    private volatile List<Atom> referenceAnswerSet = Collections.emptyList();
+
+    /**
+     * Create a new solver execution which executes the logic program of the given solver service with the given atoms
+     * as input and forwards the output of the solver to the given managers.
+     *
+     * @param solverService        solver service which is used to execute the logic program
+     * @param atoms                logic atoms which are passed to the logic program as input
+     * @param solverMessageManager solver message manager to which the output of the logic program solver is forwarded
+     * @param answerSetManager     answer set manager to which the output of the logic program solver is forwarded
+     */
+    public SolverExecution(AspSolverService solverService, Collection<Atom> atoms,
+                           SolverMessageManager solverMessageManager, AnswerSetManager answerSetManager) {
+        this(solverService, atoms, solverMessageManager, answerSetManager, 0, 0);
+    }
+
+    /**
+     * Create a new solver execution which executes the logic program of the given solver service with the given atoms
+     * as input and forwards the answer sets of the given window to the given managers.
+     *
+     * @param solverService        solver service which is used to execute the logic program
+     * @param atoms                logic atoms which are passed to the logic program as input
+     * @param solverMessageManager solver message manager to which the output of the logic program solver is forwarded
+     * @param answerSetManager     answer set manager to which the output of the logic program solver is forwarded
+     * @param answerSetOffset      number of answer sets which are skipped before answer sets are published
+     * @param answerSetCount       maximum number of answer sets which are published (0 means unlimited)
+     */
+    public SolverExecution(AspSolverService solverService, Collection<Atom> atoms,
+                           SolverMessageManager solverMessageManager, AnswerSetManager answerSetManager,
+                           int answerSetOffset, int answerSetCount) {
+        this.solverService = solverService;
+        this.atoms = new ArrayList<>(atoms);
+        this.solverMessageManager = solverMessageManager;
+        this.answerSetManager = answerSetManager;
+        this.answerSetOffset = answerSetOffset;
+        this.answerSetCount = answerSetCount;
+    }
+
+    /**
+     * Create a new detached execution which is not connected to managers and only collects the output of the solver
+     * service which is passed to it. A detached execution is not started, instead the solver service is executed
+     * directly with the execution.
+     *
+     * @param solverService   solver service which is used to execute the logic program
+     * @param atoms           logic atoms which are passed to the logic program as input
+     * @param answerSetOffset number of answer sets which are skipped before answer sets are published
+     * @param answerSetCount  maximum number of answer sets which are published (0 means unlimited)
+     * @return new detached execution
+     */
+    public static SolverExecution createDetached(AspSolverService solverService, Collection<Atom> atoms,
+                                                 int answerSetOffset, int answerSetCount) {
+        return new SolverExecution(solverService, atoms, null, null, answerSetOffset, answerSetCount);
+    }
+
+    /**
+     * Create a new execution which executes the logic program of this execution again with the same input atoms and
+     * publishes the window of answer sets which starts at the given offset.
+     *
+     * @param answerSetOffset index of the first answer set of the window which is published by the new execution
+     * @return new execution which is not started yet
+     */
+    public SolverExecution createPageExecution(int answerSetOffset) {
+        return new SolverExecution(this.solverService, this.atoms, this.solverMessageManager, this.answerSetManager,
+                Math.max(0, answerSetOffset), this.answerSetCount);
+    }
+
+    /**
+     * Set the answer set which is displayed when the execution is started (for example: the plan of the previous
+     * execution). Solver services can use the reference answer set as starting point, if the input atoms of the
+     * execution differ only slightly from the input atoms of the reference answer set.
+     * This method must be called before the execution is started.
+     *
+     * @param referenceAnswerSet atoms of the displayed answer set, empty if no answer set is displayed
+     */
+    public void setReferenceAnswerSet(Collection<Atom> referenceAnswerSet) {
+        this.referenceAnswerSet = new ArrayList<>(referenceAnswerSet);
+    }
+
+    /**
+     * @return atoms of the answer set which was displayed when the execution was started, empty if unknown
+     */
+    public List<Atom> getReferenceAnswerSet() {
+        return this.referenceAnswerSet;
+    }
+
+    /**
+     * Start the execution on a background thread.
+     */
+    public void start() {
+        executorService.submit(this);
+    }
+
+    /**
+     * Publish the given answer set, which was read from the output of the logic program solver. The answer set is
+     * forwarded to the answer set manager of the execution on the javafx application thread, if the execution is not
+     * detached.
+     * This method can be called from any thread.
+     *
+     * @param answerSet atoms of the answer set which is published
+     */
+    public void publishAnswerSet(List<Atom> answerSet) {
+        int answerSetCount;
+        synchronized (this.pendingAnswerSets) {
+            List<Atom> storedAnswerSet = this.answerSetStore.addAnswerSet(answerSet);
+            answerSetCount = this.answerSetStore.getAnswerSetCount();
+            if (this.forwardExecution != null) this.forwardExecution.publishAnswerSet(storedAnswerSet);
+            if (!this.isDetached()) {
+                this.pendingAnswerSets.add(storedAnswerSet);
+                if (!this.flushScheduled) {
+                    this.flushScheduled = true;
+                    Platform.runLater(this::flushAnswerSets);
+                }
+            }
+        }
+        this.updateStatus(String.format("solving logic program (%d answer sets)", answerSetCount));
+    }
+
+    /**
+     * Publish the given provisional answer set, which was computed by a heuristic before the logic program solver
+     * found an answer set. The answer set is forwarded to the answer set manager of the execution on the javafx
+     * application thread, if the execution is not detached. It is not part of the answer sets of the execution and is
+     * replaced by the first answer set which is published afterwards.
+     * This method can be called from any thread.
+     *
+     * @param answerSet atoms of the provisional answer set
+     */
+    public void publishHeuristicAnswerSet(List<Atom> answerSet) {
+        synchronized (this.pendingAnswerSets) {
+            this.heuristicAnswerSet = answerSet;
+            if (this.forwardExecution != null) this.forwardExecution.publishHeuristicAnswerSet(answerSet);
+        }
+        if (this.isDetached()) return;
+        Platform.runLater(() -> {
+            if (!this.isCancelled()) this.answerSetManager.setHeuristicAnswerSet(answerSet);
+        });
+    }
+
+    /**
+     * Publish the cost of the last published answer set, which was read from the output of an optimizing logic program
+     * solver. The cost is forwarded to the answer set manager of the execution on the javafx application thread after
+     * the answer set, if the execution is not detached.
+     * This method can be called from any thread.
+     *
+     * @param cost cost of the last published answer set
+     */
+    public void publishCost(int cost) {
+        synchronized (this.pendingAnswerSets) {
+            this.cost = cost;
+            if (this.forwardExecution != null) this.forwardExecution.publishCost(cost);
+        }
+        if (this.isDetached()) return;
+        Platform.runLater(() -> {
+            if (!this.isCancelled()) this.answerSetManager.setCost(cost, false);
+        });
+    }
+
+    /**
+     * Forward the answer sets, the costs and the provisional answer set which were published to this execution to the
+     * given execution: the output which was published so far is published to the given execution immediately, later
+     * output is published to the given execution as soon as it is published to this execution. The solver message and
+     * the remaining results of this execution are not forwarded.
+     * This method can be called from any thread.
+     *
+     * @param execution execution to which the output of this execution is forwarded
+     */
+    public void forwardTo(SolverExecution execution) {
+        synchronized (this.pendingAnswerSets) {
+            this.forwardExecution = execution;
+            List<List<Atom>> answerSets = this.answerSetStore.getAnswerSets();
+            if (answerSets.isEmpty() && this.heuristicAnswerSet != null) {
+                execution.publishHeuristicAnswerSet(this.heuristicAnswerSet);
+            }
+            for (List<Atom> answerSet : answerSets) execution.publishAnswerSet(answerSet);
+            if (this.cost >= 0) execution.publishCost(this.cost);
+        }
+    }
+
+    /**
+     * @return cost of the last published answer set of an optimizing solver, -1 if no cost was published
+     */
+    public int getCost() {
+        return this.cost;
+    }
+
+    /**
+     * @return store which holds the answer sets which are published to the execution
+     */
+    public AnswerSetStore getAnswerSetStore() {
+        return this.answerSetStore;
+    }
+
+    /**
+     * Append the given message of the logic program solver to the solver message of the execution. The message is
+     * forwarded to the solver message manager of the execution, after the solver terminated.
+     *
+     * @param solverMessage output of the logic program solver which is not part of an answer set
+     */
+    public void appendSolverMessage(String solverMessage) {
+        synchronized (this.solverMessageBuilder) {
+            this.solverMessageBuilder.append(solverMessage);
+        }
+    }
+
+    /**
+     * @return list view of all answer sets which were published to the execution so far
+     */
+    public List<List<Atom>> getAnswerSets() {
+        return this.answerSetStore.getAnswerSets();
+    }
+
+    /**
+     * @return solver message which was appended to the execution so far
+     */
+    public String getSolverMessage() {
+        synchronized (this.solverMessageBuilder) {
+            return this.solverMessageBuilder.toString();
+        }
+    }
+
+    /**
+     * Add the statistics of an output stream of the logic program solver to the execution.
+     *
+     * @param statistics statistics of an output stream of the solver
+     */
+    public void addStreamStatistics(StreamStatistics statistics) {
+        synchronized (this.streamStatistics) {
+            this.streamStatistics.add(statistics);
+        }
+    }
+
+    /**
+     * @return statistics of the output streams of the logic program solver which were added to the execution so far
+     */
+    public List<StreamStatistics> getStreamStatistics() {
+        synchronized (this.streamStatistics) {
+            return new ArrayList<>(this.streamStatistics);
+        }
+    }
+
+    /**
+     * Signal, that the logic program solver stopped the enumeration of answer sets before all answer sets of the
+     * logic program were computed.
+     *
+     * @param moreAnswerSetsAvailable true if there are further answer sets after the published answer sets
+     */
+    public void setMoreAnswerSetsAvailable(boolean moreAnswerSetsAvailable) {
+        this.moreAnswerSetsAvailable = moreAnswerSetsAvailable;
+    }
+
+    /**
+     * Mark the execution as truncated. This method is called, if the logic program solver was stopped before it
+     * terminated regularly (for example: because a time limit was exceeded). The answer sets which were published
+     * before are kept, but the solver message manager signals that the result is incomplete.
+     *
+     * @param truncationReason description of the reason, why the solver was stopped
+     */
+    public void markTruncated(String truncationReason) {
+        this.truncationReason = truncationReason;
+    }
+
+    /**
+     * @return true if the logic program solver of this execution was stopped before it terminated regularly
+     */
+    public boolean isTruncated() {
+        return this.truncationReason != null;
+    }
+
+    /**
+     * @return description of the reason, why the solver was stopped, null if the execution is not truncated
+     */
+    public String getTruncationReason() {
+        return this.truncationReason;
+    }
+
+    /**
+     * @return true if the execution is not connected to managers and only collects the output of the solver service
+     */
+    public boolean isDetached() {
+        return this.answerSetManager == null;
+    }
+
+    /**
+     * @return true if the solver signaled, that there are further answer sets after the published answer sets
+     */
+    public boolean isMoreAnswerSetsAvailable() {
+        return this.moreAnswerSetsAvailable;
+    }
+
+    /**
+     * @return number of answer sets which are skipped before answer sets are published
+     */
+    public int getAnswerSetOffset() {
+        return this.answerSetOffset;
+    }
+
+    /**
+     * @return maximum number of answer sets which are published by this execution (0 means unlimited)
+     */
+    public int getAnswerSetCount() {
+        return this.answerSetCount;
+    }
+
+    /**
+     * @return collection of logic atoms which are passed to the logic program as input
+     */
+    public Collection<Atom> getAtoms() {
+        return this.atoms;
+    }
+
+    /**
+     * Update the status message of the execution, which can be displayed by the graphical user interface.
+     * This method can be called from any thread.
+     *
+     * @param statusMessage new status message of the execution
+     */
+    public void updateStatus(String statusMessage) {
+        this.updateMessage(statusMessage);
+    }
+
+    /**
+     * Register a handler which is called, when the execution is cancelled. If the execution is already cancelled,
+     * the given handler is called immediately.
+     * This method is used by solver services to abort a running logic program solver on cancellation.
+     *
+     * @param cancelHandler handler which is called on cancellation of the execution
+     */
+    public void addCancelHandler(Runnable cancelHandler) {
+        synchronized (this.cancelHandlers) {
+            if (!this.isCancelled()) {
+                this.cancelHandlers.add(cancelHandler);
+                return;
+            }
+        }
+        cancelHandler.run();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The provisional answer set of the execution is removed from the answer set manager, as the cancelled solver
+     * does not replace it. Updates of the managers which were scheduled before are skipped.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            List<Runnable> handlers;
+            synchronized (this.cancelHandlers) {
+                handlers = new ArrayList<>(this.cancelHandlers);
+                this.cancelHandlers.clear();
+            }
+            handlers.forEach(Runnable::run);
+            if (!this.isDetached()) Platform.runLater(this.answerSetManager::discardHeuristicAnswerSet);
+        }
+        return cancelled;
+    }
+
+    /**
+     * Execute the logic program with the solver service of this execution and forward the output of the solver to the
+     * managers of this execution. The previous results of the managers are reset before the solver is started, if
+     * the execution starts at the first answer set.
+     *
+     * @return nothing
+     * @throws Exception if the execution of the logic program failed
+     */
+    @Override
+    protected Void call() throws Exception {
+        this.updateStatus("starting solver");
+        if (this.answerSetOffset == 0) {
+            Platform.runLater(() -> {
+                this.solverMessageManager.resetProperties();
+                this.answerSetManager.resetProperties();
+            });
+        }
+
+        try {
+            this.solverService.executeLogicProgram(this.atoms, this);
+        } catch (Exception e) {
+            // a failed solver run has no result, which also removes a provisional answer set
+            // a cancelled solver run must not change the managers, which may already show the next execution
+            if (!this.isCancelled()) Platform.runLater(() -> this.answerSetManager.completeAnswerSets(false, false));
+            throw e;
+        }
+        if (this.isCancelled()) return null;
+
+        String solverMessage = this.getSolverMessage();
+        boolean emptySolverOutput = this.getAnswerSets().isEmpty() && solverMessage.trim().isEmpty();
+        boolean moreAnswerSetsAvailable = this.moreAnswerSetsAvailable;
+        String truncationReason = this.truncationReason;
+        int cost = this.cost;
+        Platform.runLater(() -> {
+            if (this.isCancelled()) return;
+            this.flushAnswerSets();
+            this.solverMessageManager.setSolverMessage(solverMessage);
+            if (truncationReason != null) this.solverMessageManager.setTruncated(truncationReason);
+            // the last answer set of a regularly terminated optimizing solver is optimal
+            if (cost >= 0) this.answerSetManager.setCost(cost, truncationReason == null);
+            this.answerSetManager.completeAnswerSets(emptySolverOutput && truncationReason == null,
+                    moreAnswerSetsAvailable);
+        });
+        this.updateStatus("finished");
+        return null;
+    }
+
+    /**
+     * Forward the answer sets which were published since the last call of this method to the answer set manager of
+     * the execution. The answer sets of a cancelled execution are dropped. This method is called on the javafx
+     * application thread.
+     */
+    private void flushAnswerSets() {
+        List<List<Atom>> answerSetBatch;
+        int batchOffset;
+        synchronized (this.pendingAnswerSets) {
+            answerSetBatch = new ArrayList<>(this.pendingAnswerSets);
+            batchOffset = this.answerSetOffset + this.answerSetStore.getAnswerSetCount() - answerSetBatch.size();
+            this.pendingAnswerSets.clear();
+            this.flushScheduled = false;
+        }
+        if (answerSetBatch.isEmpty() || this.isCancelled()) return;
+        this.answerSetManager.addAnswerSets(batchOffset, answerSetBatch);
+    }
+}
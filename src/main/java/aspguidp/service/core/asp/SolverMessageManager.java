@@ -1,5 +1,6 @@
 package aspguidp.service.core.asp;
 
+import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyStringProperty;
 
 /**
@@ -13,6 +14,9 @@ import javafx.beans.property.ReadOnlyStringProperty;
  * program of the solver service is executed. The solver message manager instance provides a observable property which
  * is set to the messages from the logic program solver after execution.
  * <p>
+ * Additionally, the solver message manager signals, if the logic program solver was stopped before it terminated
+ * regularly (for example: because a time limit was exceeded), which means that the answer sets are incomplete.
+ * <p>
  * Usually, only one solver message manager instance is used in the application.
  */
 public interface SolverMessageManager {
@@ -26,8 +30,37 @@ public interface SolverMessageManager {
      */
     void setPropertiesBySolverOutput(String solverOutput);
 
+    /**
+     * Set the given message of the logic program solver to the observable property of the solver message manager
+     * instance. This method is called by a solver execution, which already separated the answer sets from the
+     * messages while reading the solver output.
+     *
+     * @param solverMessage output of the logic program solver which is not part of an answer set
+     */
+    void setSolverMessage(String solverMessage);
+
+    /**
+     * Mark the result of the logic program execution as truncated. The given reason is added in front of the message
+     * of the solver message property.
+     *
+     * @param truncationReason description of the reason, why the logic program solver was stopped
+     */
+    void setTruncated(String truncationReason);
+
+    /**
+     * Resets the solver message property and the truncated property of the solver message manager to the default
+     * values.
+     */
+    void resetProperties();
+
     /**
      * @return observable property which contains the message of the logic program solver (default is null).
      */
     ReadOnlyStringProperty solverMessageProperty();
+
+    /**
+     * @return observable property which signals, if the logic program solver was stopped before it terminated
+     * regularly (default is false).
+     */
+    ReadOnlyBooleanProperty truncatedProperty();
 }
@@ -0,0 +1,147 @@
+package aspguidp.service.core.asp;
+
+import aspguidp.service.core.atom.Atom;
+
+import java.util.List;
+
+/**
+ * Immutable result of a {@link SolverExecution}, which consists of the published answer sets, the solver message,
+ * the information if further answer sets are available after the published answer sets and the cost of the last
+ * answer set of an optimizing solver.
+ * <p>
+ * Solver results are used to store the output of a logic program solver (for example: in a cache) and to publish the
+ * stored output to another execution without executing the logic program solver again. The answer sets of a result
+ * are held by an {@link AnswerSetStore}, which holds every distinct atom of the answer sets once.
+ */
+public class SolverResult {
+    private static final int atomOverhead = 64;
+    private static final int answerSetOverhead = 32;
+
+    private final AnswerSetStore answerSetStore;
+    private final List<List<Atom>> answerSets;
+    private final String solverMessage;
+    private final boolean moreAnswerSetsAvailable;
+    private final int cost;
+
+    /**
+     * Create a new solver result with the given answer sets, solver message and information about further answer sets.
+     *
+     * @param answerSets              answer sets of the result
+     * @param solverMessage           output of the solver which is not part of an answer set
+     * @param moreAnswerSetsAvailable true if there are further answer sets after the answer sets of the result
+     */
+    public SolverResult(List<List<Atom>> answerSets, String solverMessage, boolean moreAnswerSetsAvailable) {
+        this(answerSets, solverMessage, moreAnswerSetsAvailable, -1);
+    }
+
+    /**
+     * Create a new solver result with the given answer sets, solver message, information about further answer sets and
+     * cost of the last answer set.
+     *
+     * @param answerSets              answer sets of the result
+     * @param solverMessage           output of the solver which is not part of an answer set
+     * @param moreAnswerSetsAvailable true if there are further answer sets after the answer sets of the result
+     * @param cost                    cost of the last answer set of an optimizing solver (-1 means not optimizing)
+     */
+    public SolverResult(List<List<Atom>> answerSets, String solverMessage, boolean moreAnswerSetsAvailable,
+                        int cost) {
+        this(storeAnswerSets(answerSets), solverMessage, moreAnswerSetsAvailable, cost);
+    }
+
+    /**
+     * Create a new solver result with the answer sets which are held by the given store, solver message, information
+     * about further answer sets and cost of the last answer set. Answer sets which are added to the store afterwards
+     * are not part of the result.
+     *
+     * @param answerSetStore          store which holds the answer sets of the result
+     * @param solverMessage           output of the solver which is not part of an answer set
+     * @param moreAnswerSetsAvailable true if there are further answer sets after the answer sets of the result
+     * @param cost                    cost of the last answer set of an optimizing solver (-1 means not optimizing)
+     */
+    public SolverResult(AnswerSetStore answerSetStore, String solverMessage, boolean moreAnswerSetsAvailable,
+                        int cost) {
+        this.answerSetStore = answerSetStore;
+        this.answerSets = answerSetStore.getAnswerSets();
+        this.solverMessage = solverMessage;
+        this.moreAnswerSetsAvailable = moreAnswerSetsAvailable;
+        this.cost = cost;
+    }
+
+    /**
+     * Create a new solver result from the output which was passed to the given execution.
+     *
+     * @param execution execution of which the result is created
+     * @return solver result which contains the output of the given execution
+     */
+    public static SolverResult fromExecution(SolverExecution execution) {
+        return new SolverResult(execution.getAnswerSetStore(), execution.getSolverMessage(),
+                execution.isMoreAnswerSetsAvailable(), execution.getCost());
+    }
+
+    /**
+     * Publish the answer sets and the solver message of this result to the given execution, as if the output was read
+     * from a logic program solver.
+     *
+     * @param execution execution to which the result is published
+     */
+    public void publishTo(SolverExecution execution) {
+        for (List<Atom> answerSet : this.answerSets) execution.publishAnswerSet(answerSet);
+        if (this.cost >= 0) execution.publishCost(this.cost);
+        execution.appendSolverMessage(this.solverMessage);
+        execution.setMoreAnswerSetsAvailable(this.moreAnswerSetsAvailable);
+    }
+
+    /**
+     * Estimate the number of bytes which are occupied by the result in memory. The estimation is based on the length
+     * of the string representations of the distinct atoms of the result, a fixed overhead per distinct atom and answer
+     * set and the pool index of every atom of an answer set.
+     *
+     * @return estimated memory size of the result in bytes
+     */
+    public long getEstimatedSize() {
+        long size = this.solverMessage.length() * 2L;
+        for (Atom atom : this.answerSetStore.getAtoms()) {
+            size += atomOverhead + atom.getStringRepresentation().length() * 2L;
+        }
+        for (List<Atom> answerSet : this.answerSets) size += answerSetOverhead + answerSet.size() * 4L;
+        return size;
+    }
+
+    /**
+     * @param answerSets answer sets which are stored
+     * @return new store which holds the given answer sets
+     */
+    private static AnswerSetStore storeAnswerSets(List<List<Atom>> answerSets) {
+        AnswerSetStore answerSetStore = new AnswerSetStore();
+        for (List<Atom> answerSet : answerSets) answerSetStore.addAnswerSet(answerSet);
+        return answerSetStore;
+    }
+
+    /**
+     * @return unmodifiable list of the answer sets of the result
+     */
+    public List<List<Atom>> getAnswerSets() {
+        return this.answerSets;
+    }
+
+    /**
+     * @return output of the solver which is not part of an answer set
+     */
+    public String getSolverMessage() {
+        return this.solverMessage;
+    }
+
+    /**
+     * @return true if there are further answer sets after the answer sets of the result
+     */
+    public boolean isMoreAnswerSetsAvailable() {
+        return this.moreAnswerSetsAvailable;
+    }
+
+    /**
+     * @return cost of the last answer set of an optimizing solver, -1 if the solver did not optimize
+     */
+    public int getCost() {
+        return this.cost;
+    }
+}
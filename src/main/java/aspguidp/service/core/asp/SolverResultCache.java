@@ -0,0 +1,40 @@
+package aspguidp.service.core.asp;
+
+/**
+ * Interface for a solver result cache.
+ * <p>
+ * A solver result cache stores {@link SolverResult} instances by a key, which identifies the input of the respective
+ * logic program execution. A cache instance is used by a caching {@link AspSolverService} to avoid the execution of
+ * the logic program solver, if the logic program was already executed with the same input.
+ * <p>
+ * Implementations of this interface must be thread safe, as the cache is accessed by solver executions which are
+ * running on background threads.
+ */
+public interface SolverResultCache {
+    /**
+     * Get the solver result which is stored for the given key.
+     *
+     * @param key key which identifies the input of the logic program execution
+     * @return stored solver result, null if no result is stored for the given key
+     */
+    SolverResult get(String key);
+
+    /**
+     * Store the given solver result for the given key. The cache instance may evict other stored results to keep the
+     * size of the cache within its limits.
+     *
+     * @param key    key which identifies the input of the logic program execution
+     * @param result solver result which is stored
+     */
+    void put(String key, SolverResult result);
+
+    /**
+     * @return number of get calls which returned a stored solver result
+     */
+    long getHitCount();
+
+    /**
+     * @return number of get calls which did not return a stored solver result
+     */
+    long getMissCount();
+}
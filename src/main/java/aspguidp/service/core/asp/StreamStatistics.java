@@ -0,0 +1,68 @@
+package aspguidp.service.core.asp;
+
+/**
+ * Immutable statistics of an output stream of a logic program solver (for example: the standard output or the
+ * standard error stream of a solver process).
+ * <p>
+ * The statistics contain the number of bytes which were read from the stream, the time until the first byte was
+ * available and the total time until the end of the stream was reached. All times are measured from the start of the
+ * reading of the stream.
+ */
+public class StreamStatistics {
+    private final String streamName;
+    private final long byteCount;
+    private final long firstByteMillis;
+    private final long durationMillis;
+
+    /**
+     * Create new statistics for the stream with the given name.
+     *
+     * @param streamName      name of the stream (for example: 'stdout')
+     * @param byteCount       number of bytes which were read from the stream
+     * @param firstByteMillis time until the first byte was available in milliseconds (-1 if the stream was empty)
+     * @param durationMillis  time until the end of the stream was reached in milliseconds
+     */
+    public StreamStatistics(String streamName, long byteCount, long firstByteMillis, long durationMillis) {
+        this.streamName = streamName;
+        this.byteCount = byteCount;
+        this.firstByteMillis = firstByteMillis;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * @return name of the stream (for example: 'stdout')
+     */
+    public String getStreamName() {
+        return this.streamName;
+    }
+
+    /**
+     * @return number of bytes which were read from the stream
+     */
+    public long getByteCount() {
+        return this.byteCount;
+    }
+
+    /**
+     * @return time until the first byte was available in milliseconds (-1 if the stream was empty)
+     */
+    public long getFirstByteMillis() {
+        return this.firstByteMillis;
+    }
+
+    /**
+     * @return time until the end of the stream was reached in milliseconds
+     */
+    public long getDurationMillis() {
+        return this.durationMillis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: %d bytes, first byte after %d ms, finished after %d ms", this.streamName,
+                this.byteCount, this.firstByteMillis, this.durationMillis);
+    }
+}
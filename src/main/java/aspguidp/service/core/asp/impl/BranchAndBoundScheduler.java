@@ -0,0 +1,241 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.SchedulingProblem;
+
+import java.util.function.Predicate;
+
+/**
+ * Scheduler class which enumerates the schedules of a {@link SchedulingProblem} with a branch-and-bound search.
+ * <p>
+ * The enumerated schedules are exactly the plans of the project planning logic program: every task starts at time 0
+ * or at the end of another task, no task starts before its predecessors are completed, the number of assigned
+ * employees never exceeds the maximum employee count and no task ends after the horizon of the problem.
+ * <p>
+ * The search visits the possible start times in increasing order and decides for every task, if it starts at the
+ * current time. Therefore, every schedule is enumerated exactly once and the first schedules start the tasks as early
+ * as possible. Branches are cut, if a task cannot be completed before the project duration bound (the current time
+ * plus the longest dependency chain of a task exceeds the bound) or if the remaining work cannot be done by the
+ * available employees before the bound. The project duration bound is the horizon of the problem and can be
+ * tightened during the enumeration ({@link #setMaxProjectDuration(int)}), so that a search for the shortest schedule
+ * prunes every branch which cannot improve the best schedule found so far.
+ * <p>
+ * The search is iterative: the start times of the scheduled tasks are held on an explicit stack, which grows at most
+ * to the number of tasks. Therefore, the search runs on the calling thread regardless of the size of the problem.
+ */
+public class BranchAndBoundScheduler {
+    private final SchedulingProblem problem;
+    private final int[] taskOrder;
+    private final int[] startTimes;
+    private final int[] timeReferences;
+    private final int[] placedPositions;
+    private int scheduledTaskCount = 0;
+    private long remainingWork = 0;
+    private volatile int maxProjectDuration;
+    private volatile boolean stopped = false;
+
+    /**
+     * Create a new scheduler for the given problem.
+     *
+     * @param problem scheduling problem of which the schedules are enumerated
+     */
+    public BranchAndBoundScheduler(SchedulingProblem problem) {
+        this.problem = problem;
+        this.taskOrder = problem.getTopologicalOrder();
+        this.maxProjectDuration = problem.getHorizon();
+        this.startTimes = new int[problem.getTaskCount()];
+        this.timeReferences = new int[problem.getHorizon() + 1];
+        this.placedPositions = new int[problem.getTaskCount()];
+    }
+
+    /**
+     * Restrict the enumeration to schedules which are completed at the given time or earlier. Branches which cannot
+     * lead to such a schedule are cut from the rest of the search. This method can be called from the schedule
+     * consumer (for example: with the project duration of the best schedule minus one).
+     *
+     * @param maxProjectDuration maximum project duration of the schedules which are enumerated afterwards
+     */
+    public void setMaxProjectDuration(int maxProjectDuration) {
+        this.maxProjectDuration = Math.min(this.maxProjectDuration, maxProjectDuration);
+    }
+
+    /**
+     * Enumerate the schedules of the problem and pass every schedule to the given consumer. The enumeration stops, if
+     * all schedules were enumerated, the consumer returns false or the scheduler was stopped.
+     * This method blocks the calling thread until the enumeration stopped.
+     *
+     * @param scheduleConsumer consumer which is called with the start times of every schedule, returns true if the
+     *                         enumeration should be continued
+     */
+    public void enumerate(Predicate<int[]> scheduleConsumer) {
+        this.scheduledTaskCount = 0;
+        this.remainingWork = 0;
+        for (int task = 0; task < this.problem.getTaskCount(); task++) {
+            this.startTimes[task] = -1;
+            this.remainingWork += (long) this.problem.getEmployeeCount(task) * this.problem.getDuration(task);
+        }
+
+        // time 0 is always a possible start time
+        this.timeReferences[0]++;
+        try {
+            if (this.isWithinBound(0)) this.search(scheduleConsumer);
+        } finally {
+            this.timeReferences[0]--;
+            while (this.scheduledTaskCount > 0) {
+                int task = this.taskOrder[this.placedPositions[this.scheduledTaskCount - 1]];
+                this.remove(task, this.startTimes[task]);
+            }
+        }
+    }
+
+    /**
+     * Stop the enumeration of schedules. This method can be called from any thread.
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /**
+     * @return true if the enumeration was stopped by {@link #stop()}
+     */
+    public boolean isStopped() {
+        return this.stopped;
+    }
+
+    /**
+     * Enumerate the schedules of the problem, starting with an empty schedule at time 0.
+     * <p>
+     * The search decides for the task at the current position of the task order, if it starts at the current time.
+     * The branch in which the task starts is explored first; the position of the task is pushed on the stack of placed
+     * tasks. When a branch is exhausted, the last placed task is removed from the schedule and the search continues
+     * with the branch in which this task does not start at its time. After the last position of the task order, the
+     * search continues with the first position at the next possible start time.
+     *
+     * @param scheduleConsumer consumer which is called with the start times of every schedule
+     */
+    private void search(Predicate<int[]> scheduleConsumer) {
+        int time = 0;
+        int orderPosition = 0;
+        while (!this.stopped) {
+            boolean exhausted = false;
+            if (orderPosition == this.taskOrder.length) {
+                if (this.scheduledTaskCount == this.taskOrder.length) {
+                    if (!scheduleConsumer.test(this.startTimes.clone())) {
+                        this.stopped = true;
+                        return;
+                    }
+                    exhausted = true;
+                } else {
+                    // continue with the next possible start time
+                    int nextTime = this.getNextTime(time);
+                    if (nextTime < 0 || !this.isWithinBound(nextTime)) {
+                        exhausted = true;
+                    } else {
+                        time = nextTime;
+                        orderPosition = 0;
+                    }
+                }
+            } else {
+                int task = this.taskOrder[orderPosition];
+                if (this.startTimes[task] < 0 && this.canStart(task, time)) {
+                    this.placedPositions[this.scheduledTaskCount] = orderPosition;
+                    this.place(task, time);
+                }
+                orderPosition++;
+            }
+            if (!exhausted) continue;
+
+            // backtrack to the last placed task and continue with the branch in which it does not start
+            if (this.scheduledTaskCount == 0) return;
+            orderPosition = this.placedPositions[this.scheduledTaskCount - 1];
+            int task = this.taskOrder[orderPosition];
+            time = this.startTimes[task];
+            this.remove(task, time);
+            orderPosition++;
+        }
+    }
+
+    /**
+     * @param task task which should start at the given time
+     * @param time start time of the task
+     * @return true if the task can start at the given time without violating a constraint of the problem
+     */
+    private boolean canStart(int task, int time) {
+        if (time + this.problem.getTail(task) > this.maxProjectDuration) return false;
+        for (int predecessor : this.problem.getPredecessors(task)) {
+            int predecessorStart = this.startTimes[predecessor];
+            if (predecessorStart < 0 || predecessorStart + this.problem.getDuration(predecessor) > time) return false;
+        }
+
+        // tasks which are scheduled later start later, so only the employee count at the start time is relevant
+        int maxEmployeeCount = this.problem.getMaxEmployeeCount();
+        if (maxEmployeeCount < 0 || this.problem.getDuration(task) == 0) return true;
+        int employeeCount = this.problem.getEmployeeCount(task);
+        for (int other = 0; other < this.startTimes.length; other++) {
+            int otherStart = this.startTimes[other];
+            if (otherStart >= 0 && otherStart <= time && otherStart + this.problem.getDuration(other) > time) {
+                employeeCount += this.problem.getEmployeeCount(other);
+            }
+        }
+        return employeeCount <= maxEmployeeCount;
+    }
+
+    /**
+     * Check if the unscheduled tasks can still be completed before the project duration bound, if they start at the
+     * given time or later.
+     *
+     * @param time earliest start time of the unscheduled tasks
+     * @return true if the bound does not exclude a schedule
+     */
+    private boolean isWithinBound(int time) {
+        int maxProjectDuration = this.maxProjectDuration;
+        long work = this.remainingWork;
+        for (int task = 0; task < this.startTimes.length; task++) {
+            int start = this.startTimes[task];
+            if (start < 0) {
+                if (time + this.problem.getTail(task) > maxProjectDuration) return false;
+            } else {
+                // work of scheduled tasks after the given time
+                int end = start + this.problem.getDuration(task);
+                if (end > maxProjectDuration) return false;
+                if (end > time) work += (long) this.problem.getEmployeeCount(task) * (end - Math.max(start, time));
+            }
+        }
+
+        int maxEmployeeCount = this.problem.getMaxEmployeeCount();
+        if (maxEmployeeCount <= 0 || work == 0) return true;
+        return time + (work + maxEmployeeCount - 1) / maxEmployeeCount <= maxProjectDuration;
+    }
+
+    /**
+     * @param time current start time
+     * @return next possible start time after the given time, -1 if there is no further possible start time
+     */
+    private int getNextTime(int time) {
+        for (int nextTime = time + 1; nextTime <= this.maxProjectDuration; nextTime++) {
+            if (this.timeReferences[nextTime] > 0) return nextTime;
+        }
+        return -1;
+    }
+
+    /**
+     * @param task task which is scheduled
+     * @param time start time of the task
+     */
+    private void place(int task, int time) {
+        this.startTimes[task] = time;
+        this.timeReferences[time + this.problem.getDuration(task)]++;
+        this.scheduledTaskCount++;
+        this.remainingWork -= (long) this.problem.getEmployeeCount(task) * this.problem.getDuration(task);
+    }
+
+    /**
+     * @param task task which is removed from the schedule
+     * @param time start time of the task
+     */
+    private void remove(int task, int time) {
+        this.startTimes[task] = -1;
+        this.timeReferences[time + this.problem.getDuration(task)]--;
+        this.scheduledTaskCount--;
+        this.remainingWork += (long) this.problem.getEmployeeCount(task) * this.problem.getDuration(task);
+    }
+}
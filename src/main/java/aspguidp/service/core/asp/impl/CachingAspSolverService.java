@@ -0,0 +1,102 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.helper.AtomHelper;
+import aspguidp.helper.HashHelper;
+import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.SolverConfiguration;
+import aspguidp.service.core.asp.SolverExecution;
+import aspguidp.service.core.asp.SolverResult;
+import aspguidp.service.core.asp.SolverResultCache;
+import aspguidp.service.core.atom.Atom;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Implementation of the {@link AspSolverService} interface which caches the results of another solver service.
+ * <p>
+ * The key of a cached result consists of the canonical fingerprint of the input atoms
+ * ({@link AtomHelper#getFingerprint(Collection)}), a hash of the logic program content and the result fingerprint of
+ * the solver configuration ({@link SolverConfiguration#getResultFingerprint()}) and the answer set window of the
+ * execution. Therefore, results which were cached with other solver settings (for example: another backend) are not
+ * published after the settings were changed. If the logic program is executed with an input for which a result is
+ * cached, the cached result is published to the execution without executing the wrapped solver service. Otherwise,
+ * the wrapped solver service is executed and its result is stored in the cache.
+ * <p>
+ * Results of cancelled or truncated executions are not cached, as they are incomplete.
+ */
+public class CachingAspSolverService implements AspSolverService {
+    private final AspSolverService solverService;
+    private final SolverResultCache resultCache;
+    private final String settingsHash;
+
+    /**
+     * Create a new caching solver service which caches the results of the given solver service in the given cache.
+     *
+     * @param solverService solver service of which the results are cached
+     * @param resultCache   cache in which the results are stored
+     * @param configuration solver configuration with which the wrapped solver service was created
+     */
+    public CachingAspSolverService(AspSolverService solverService, SolverResultCache resultCache,
+                                   SolverConfiguration configuration) {
+        this.solverService = solverService;
+        this.resultCache = resultCache;
+        this.settingsHash = HashHelper.sha256(solverService.getLogicProgramContent() + "\n"
+                + configuration.getResultFingerprint());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void executeLogicProgram(Collection<Atom> atoms, SolverExecution execution) throws IOException {
+        String key = this.getResultKey(atoms, execution);
+        SolverResult cachedResult = this.resultCache.get(key);
+        if (cachedResult != null) {
+            execution.updateStatus("loading cached result");
+            cachedResult.publishTo(execution);
+            return;
+        }
+
+        this.solverService.executeLogicProgram(atoms, execution);
+        if (!execution.isCancelled() && !execution.isTruncated()) {
+            this.resultCache.put(key, SolverResult.fromExecution(execution));
+        }
+    }
+
+    /**
+     * Build the key which identifies the result of the execution of the logic program with the given atoms and the
+     * answer set window of the given execution.
+     *
+     * @param atoms     logic atoms which are passed to the logic program as input
+     * @param execution execution which defines the answer set window
+     * @return key of the result in the cache
+     */
+    public String getResultKey(Collection<Atom> atoms, SolverExecution execution) {
+        return String.format("%s-%s-%d-%d", AtomHelper.getFingerprint(atoms), this.settingsHash,
+                execution.getAnswerSetOffset(), execution.getAnswerSetCount());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        this.solverService.shutdown();
+    }
+
+    /**
+     * @return cache in which the results of the wrapped solver service are stored
+     */
+    public SolverResultCache getResultCache() {
+        return this.resultCache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLogicProgramContent() {
+        return this.solverService.getLogicProgramContent();
+    }
+}
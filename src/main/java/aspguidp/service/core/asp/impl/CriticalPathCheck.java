@@ -0,0 +1,48 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.FeasibilityCheck;
+import aspguidp.service.core.asp.SchedulingProblem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of the {@link FeasibilityCheck} interface which detects dependency chains that take longer than the
+ * maximum project duration (the critical path of the project).
+ */
+public class CriticalPathCheck implements FeasibilityCheck {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String check(SchedulingProblem problem) {
+        int maxProjectDuration = problem.getMaxProjectDuration();
+        if (maxProjectDuration < 0 || !problem.isAcyclic()) return null;
+
+        // the critical path starts at a task without predecessors with the longest tail
+        int criticalTask = -1;
+        for (int task = 0; task < problem.getTaskCount(); task++) {
+            if (problem.getPredecessors(task).length > 0) continue;
+            if (criticalTask < 0 || problem.getTail(task) > problem.getTail(criticalTask)) criticalTask = task;
+        }
+        if (criticalTask < 0 || problem.getTail(criticalTask) <= maxProjectDuration) return null;
+
+        int criticalPathLength = problem.getTail(criticalTask);
+        List<String> criticalPath = new ArrayList<>();
+        while (criticalTask >= 0) {
+            criticalPath.add(problem.getTaskName(criticalTask));
+            int remainingTail = problem.getTail(criticalTask) - problem.getDuration(criticalTask);
+            int nextTask = -1;
+            for (int successor : problem.getSuccessors(criticalTask)) {
+                if (problem.getTail(successor) == remainingTail) {
+                    nextTask = successor;
+                    break;
+                }
+            }
+            criticalTask = nextTask;
+        }
+
+        return String.format("the dependency chain %s takes %d time units, but the maximum project duration is %d",
+                String.join(" -> ", criticalPath), criticalPathLength, maxProjectDuration);
+    }
+}
@@ -0,0 +1,235 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.SchedulingProblem;
+import aspguidp.service.core.asp.SolverExecution;
+import aspguidp.service.core.atom.Atom;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementation of the {@link AspSolverService} interface which decomposes the project planning problem into
+ * independent components and solves the components with another solver service in parallel.
+ * <p>
+ * A component is a weakly connected component of the 'depends_on' graph of the tasks. Components only interact
+ * through the maximum employee count and the project duration. Therefore, the problem is only decomposed, if the
+ * maximum employee count cannot be exceeded by the tasks of different components at the same time (the employee
+ * counts of all tasks sum up to at most the maximum employee count). Otherwise, the input is passed to the wrapped
+ * solver service unchanged.
+ * <p>
+ * Every component is solved with its own execution of the wrapped solver service. The answer sets of the components
+ * are combined to answer sets of the whole problem, in which the project duration and the utilization atoms are
+ * derived from the combined plan. The combined answer sets are valid plans of the logic program, but plans in which a
+ * task starts exactly at the end of a task of another component are not enumerated.
+ */
+public class DecomposingAspSolverService implements AspSolverService {
+    private static final ExecutorService executorService = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "solver-decomposition");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AspSolverService solverService;
+
+    /**
+     * Create a new decomposing solver service which solves the components of the problem with the given solver
+     * service.
+     *
+     * @param solverService solver service which is used to solve the components of the problem
+     */
+    public DecomposingAspSolverService(AspSolverService solverService) {
+        this.solverService = solverService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void executeLogicProgram(Collection<Atom> atoms, SolverExecution execution) throws IOException {
+        SchedulingProblem problem = new SchedulingProblem(atoms);
+        List<List<Atom>> componentAtoms = this.decompose(problem);
+        if (componentAtoms.size() <= 1) {
+            this.solverService.executeLogicProgram(atoms, execution);
+            return;
+        }
+
+        // solve components in parallel, every component needs at most as many answer sets as the whole window
+        execution.updateStatus(String.format("solving logic program (%d components)", componentAtoms.size()));
+        int answerSetLimit = (execution.getAnswerSetCount() > 0)
+                ? execution.getAnswerSetOffset() + execution.getAnswerSetCount() : 0;
+        List<SolverExecution> componentExecutions = new ArrayList<>();
+        List<Future<?>> componentResults = new ArrayList<>();
+        for (List<Atom> component : componentAtoms) {
+            SolverExecution componentExecution = SolverExecution.createDetached(this.solverService, component,
+                    0, answerSetLimit);
+            componentExecutions.add(componentExecution);
+            componentResults.add(executorService.submit(() -> {
+                this.solverService.executeLogicProgram(component, componentExecution);
+                return null;
+            }));
+        }
+        execution.addCancelHandler(() -> componentExecutions.forEach(e -> e.cancel(true)));
+
+        try {
+            for (Future<?> componentResult : componentResults) componentResult.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            componentExecutions.forEach(componentExecution -> componentExecution.cancel(true));
+            return;
+        } catch (ExecutionException e) {
+            componentExecutions.forEach(componentExecution -> componentExecution.cancel(true));
+            if (execution.isCancelled()) return;
+            Throwable cause = e.getCause();
+            throw (cause instanceof IOException) ? (IOException) cause : new IOException(cause);
+        }
+        if (execution.isCancelled()) return;
+
+        for (SolverExecution componentExecution : componentExecutions) {
+            execution.appendSolverMessage(componentExecution.getSolverMessage());
+            if (componentExecution.isTruncated()) execution.markTruncated(componentExecution.getTruncationReason());
+        }
+        this.publishCombinedAnswerSets(problem, componentExecutions, execution, answerSetLimit);
+    }
+
+    /**
+     * Split the input atoms of the given problem into the input atoms of the independent components of the problem.
+     * Atoms which do not belong to a task (for example: the maximum employee count) are passed to every component.
+     *
+     * @param problem scheduling problem which is decomposed
+     * @return input atoms of every component, a single list if the problem cannot be decomposed
+     */
+    private List<List<Atom>> decompose(SchedulingProblem problem) {
+        int taskCount = problem.getTaskCount();
+        long totalEmployeeCount = 0;
+        for (int task = 0; task < taskCount; task++) totalEmployeeCount += problem.getEmployeeCount(task);
+        boolean employeeLimitShared = problem.getMaxEmployeeCount() >= 0
+                && totalEmployeeCount > problem.getMaxEmployeeCount();
+        if (taskCount <= 1 || employeeLimitShared) return Collections.singletonList(problem.getInputAtoms());
+
+        // assign every task to the representative task of its component
+        int[] components = new int[taskCount];
+        for (int task = 0; task < taskCount; task++) components[task] = task;
+        for (int task = 0; task < taskCount; task++) {
+            for (int predecessor : problem.getPredecessors(task)) {
+                components[findComponent(components, task)] = findComponent(components, predecessor);
+            }
+        }
+
+        Map<String, Integer> taskComponents = new HashMap<>();
+        Map<Integer, List<Atom>> componentAtoms = new LinkedHashMap<>();
+        for (int task = 0; task < taskCount; task++) {
+            int component = findComponent(components, task);
+            taskComponents.put(problem.getTaskName(task), component);
+            componentAtoms.putIfAbsent(component, new ArrayList<>());
+        }
+        if (componentAtoms.size() <= 1) return Collections.singletonList(problem.getInputAtoms());
+
+        List<Atom> sharedAtoms = new ArrayList<>();
+        for (Atom atom : problem.getInputAtoms()) {
+            List<String> arguments = atom.getArguments();
+            Integer component = null;
+            if ("task".equals(atom.getPredicateName()) && arguments.size() == 3) {
+                component = taskComponents.get(arguments.get(0));
+            } else if ("depends_on".equals(atom.getPredicateName()) && arguments.size() == 2) {
+                component = taskComponents.getOrDefault(arguments.get(0), taskComponents.get(arguments.get(1)));
+            }
+
+            if (component != null) componentAtoms.get(component).add(atom);
+            else sharedAtoms.add(atom);
+        }
+
+        List<List<Atom>> result = new ArrayList<>();
+        for (List<Atom> atoms : componentAtoms.values()) {
+            atoms.addAll(sharedAtoms);
+            result.add(atoms);
+        }
+        return result;
+    }
+
+    /**
+     * Combine the answer sets of the given component executions and publish the combined answer sets of the window
+     * of the given execution. The combinations are enumerated like the digits of a counter, the answer sets of the
+     * last component change fastest.
+     *
+     * @param problem             scheduling problem which is solved
+     * @param componentExecutions executions of the components, which contain the answer sets of the components
+     * @param execution           execution to which the combined answer sets are published
+     * @param answerSetLimit      maximum number of combined answer sets which are enumerated (0 means unlimited)
+     */
+    private void publishCombinedAnswerSets(SchedulingProblem problem, List<SolverExecution> componentExecutions,
+                                           SolverExecution execution, int answerSetLimit) {
+        Map<String, Integer> taskIndices = new HashMap<>();
+        for (int task = 0; task < problem.getTaskCount(); task++) taskIndices.put(problem.getTaskName(task), task);
+
+        List<List<List<Atom>>> componentAnswerSets = new ArrayList<>();
+        boolean moreComponentAnswerSets = false;
+        for (SolverExecution componentExecution : componentExecutions) {
+            List<List<Atom>> answerSets = componentExecution.getAnswerSets();
+            if (answerSets.isEmpty()) return;
+            componentAnswerSets.add(answerSets);
+            moreComponentAnswerSets |= componentExecution.isMoreAnswerSetsAvailable();
+        }
+
+        int[] positions = new int[componentAnswerSets.size()];
+        int[] startTimes = new int[problem.getTaskCount()];
+        int answerSetIndex = 0;
+        boolean combinationsRemaining = true;
+        while (combinationsRemaining && (answerSetLimit == 0 || answerSetIndex < answerSetLimit)) {
+            if (execution.isCancelled()) return;
+            if (answerSetIndex++ >= execution.getAnswerSetOffset()) {
+                for (int component = 0; component < positions.length; component++) {
+                    for (Atom atom : componentAnswerSets.get(component).get(positions[component])) {
+                        List<String> arguments = atom.getArguments();
+                        if (!"planned_task".equals(atom.getPredicateName()) || arguments.size() != 3) continue;
+                        Integer task = taskIndices.get(arguments.get(0));
+                        if (task != null) startTimes[task] = Integer.parseInt(arguments.get(1));
+                    }
+                }
+                execution.publishAnswerSet(problem.createAnswerSet(startTimes));
+            }
+
+            // advance to the next combination
+            combinationsRemaining = false;
+            for (int component = positions.length - 1; component >= 0 && !combinationsRemaining; component--) {
+                positions[component]++;
+                if (positions[component] < componentAnswerSets.get(component).size()) combinationsRemaining = true;
+                else positions[component] = 0;
+            }
+        }
+        execution.setMoreAnswerSetsAvailable(combinationsRemaining || moreComponentAnswerSets);
+    }
+
+    /**
+     * @param components representative task of every task
+     * @param task       task of which the component is determined
+     * @return representative task of the component of the given task
+     */
+    private static int findComponent(int[] components, int task) {
+        while (components[task] != task) {
+            components[task] = components[components[task]];
+            task = components[task];
+        }
+        return task;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        this.solverService.shutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLogicProgramContent() {
+        return this.solverService.getLogicProgramContent();
+    }
+}
@@ -0,0 +1,111 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.FeasibilityCheck;
+import aspguidp.service.core.asp.SchedulingProblem;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link FeasibilityCheck} interface which detects cycles in the dependencies of the tasks.
+ * <p>
+ * The tasks of a dependency cycle would have to start after each other. Therefore, a cycle cannot be planned, if a
+ * task of the cycle takes time. Cycles which only consist of tasks without duration are valid.
+ */
+public class DependencyCycleCheck implements FeasibilityCheck {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String check(SchedulingProblem problem) {
+        if (problem.isAcyclic()) return null;
+
+        for (List<Integer> component : this.getStronglyConnectedComponents(problem)) {
+            boolean cycle = component.size() > 1 || this.dependsOnItself(problem, component.get(0));
+            boolean takesTime = component.stream().anyMatch(task -> problem.getDuration(task) > 0);
+            if (cycle && takesTime) {
+                return String.format("the dependencies of the tasks %s form a cycle",
+                        component.stream().map(problem::getTaskName).collect(Collectors.joining(", ")));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param problem scheduling problem
+     * @param task    index of a task
+     * @return true if the task with the given index depends on itself
+     */
+    private boolean dependsOnItself(SchedulingProblem problem, int task) {
+        for (int predecessor : problem.getPredecessors(task)) {
+            if (predecessor == task) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Calculate the strongly connected components of the dependency graph with the algorithm of Tarjan. The search
+     * uses an explicit stack, so that long dependency chains do not overflow the call stack.
+     *
+     * @param problem scheduling problem
+     * @return task indices of every strongly connected component
+     */
+    private List<List<Integer>> getStronglyConnectedComponents(SchedulingProblem problem) {
+        int taskCount = problem.getTaskCount();
+        int[] indices = new int[taskCount];
+        int[] lowLinks = new int[taskCount];
+        boolean[] onStack = new boolean[taskCount];
+        for (int task = 0; task < taskCount; task++) indices[task] = -1;
+
+        List<List<Integer>> components = new ArrayList<>();
+        Deque<Integer> componentStack = new ArrayDeque<>();
+        int nextIndex = 0;
+        for (int root = 0; root < taskCount; root++) {
+            if (indices[root] >= 0) continue;
+
+            // every search frame holds a task and the position of the next successor which is visited
+            Deque<int[]> searchStack = new ArrayDeque<>();
+            searchStack.push(new int[]{root, 0});
+            indices[root] = lowLinks[root] = nextIndex++;
+            componentStack.push(root);
+            onStack[root] = true;
+            while (!searchStack.isEmpty()) {
+                int[] frame = searchStack.peek();
+                int task = frame[0];
+                int[] successors = problem.getSuccessors(task);
+                if (frame[1] < successors.length) {
+                    int successor = successors[frame[1]++];
+                    if (indices[successor] < 0) {
+                        indices[successor] = lowLinks[successor] = nextIndex++;
+                        componentStack.push(successor);
+                        onStack[successor] = true;
+                        searchStack.push(new int[]{successor, 0});
+                    } else if (onStack[successor]) {
+                        lowLinks[task] = Math.min(lowLinks[task], indices[successor]);
+                    }
+                    continue;
+                }
+
+                searchStack.pop();
+                if (!searchStack.isEmpty()) {
+                    int parent = searchStack.peek()[0];
+                    lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[task]);
+                }
+                if (lowLinks[task] == indices[task]) {
+                    List<Integer> component = new ArrayList<>();
+                    int member;
+                    do {
+                        member = componentStack.pop();
+                        onStack[member] = false;
+                        component.add(member);
+                    } while (member != task);
+                    components.add(component);
+                }
+            }
+        }
+        return components;
+    }
+}
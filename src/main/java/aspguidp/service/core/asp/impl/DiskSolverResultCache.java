@@ -0,0 +1,375 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.SolverResult;
+import aspguidp.service.core.asp.SolverResultCache;
+import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.impl.SymbolAtom;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Implementation of the {@link SolverResultCache} interface which stores solver results as files in a cache directory.
+ * Therefore, the cached results are available after a restart of the application.
+ * <p>
+ * Every result is stored in a single file in a compact binary encoding: all distinct strings of the atoms of the result
+ * (predicate names and arguments) are stored once in a string table, every distinct atom is stored once as list of
+ * string table indices and every answer set is stored as list of atom index deltas in the order of the answer set. The
+ * file starts with a header, which contains the format version, the length and a crc32 checksum of the encoded result.
+ * Files with an invalid header or checksum are deleted on read and treated as cache miss.
+ * <p>
+ * If the total size of the cache files exceeds the maximum size of the cache, the least recently used files are
+ * deleted.
+ */
+public class DiskSolverResultCache implements SolverResultCache {
+    private static final int fileMagic = 0x41535043; // "ASPC"
+    private static final byte formatVersion = 4;
+    private static final int headerLength = 17;
+    private static final String fileExtension = ".result";
+
+    private final Path cacheDirectory;
+    private final long maxCacheSize;
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    /**
+     * Create a new disk cache which stores its files in the given directory. The directory is created, if it does not
+     * exist yet.
+     *
+     * @param cacheDirectory directory in which the cache files are stored
+     * @param maxCacheSize   maximum total size of the cache files in bytes
+     */
+    public DiskSolverResultCache(Path cacheDirectory, long maxCacheSize) {
+        this.cacheDirectory = cacheDirectory;
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized SolverResult get(String key) {
+        Path file = this.getCacheFile(key);
+        if (!Files.isRegularFile(file)) {
+            this.missCount++;
+            return null;
+        }
+
+        try {
+            SolverResult result = decode(key, Files.readAllBytes(file));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            this.hitCount++;
+            return result;
+        } catch (IOException | IndexOutOfBoundsException e) {
+            // corrupted or unreadable cache files are removed and treated as cache miss
+            e.printStackTrace();
+            this.tryDelete(file);
+            this.missCount++;
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void put(String key, SolverResult result) {
+        try {
+            byte[] content = encode(key, result);
+            if (content.length > this.maxCacheSize) return;
+
+            // write to temporary file first, so that readers never see partially written files
+            Files.createDirectories(this.cacheDirectory);
+            Path temporaryFile = Files.createTempFile(this.cacheDirectory, "write", ".tmp");
+            Files.write(temporaryFile, content);
+            Files.move(temporaryFile, this.getCacheFile(key), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            this.evictLeastRecentlyUsedFiles();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Delete the least recently used cache files until the total size of the cache files does not exceed the maximum
+     * size of the cache.
+     *
+     * @throws IOException if the cache directory could not be read
+     */
+    private void evictLeastRecentlyUsedFiles() throws IOException {
+        List<Path> files;
+        try (Stream<Path> fileStream = Files.list(this.cacheDirectory)) {
+            files = fileStream.filter(f -> f.getFileName().toString().endsWith(fileExtension))
+                    .collect(Collectors.toList());
+        }
+
+        long totalSize = 0;
+        Map<Path, Long> lastModifiedTimes = new HashMap<>();
+        for (Path file : files) {
+            totalSize += Files.size(file);
+            lastModifiedTimes.put(file, Files.getLastModifiedTime(file).toMillis());
+        }
+
+        files.sort(Comparator.comparing(lastModifiedTimes::get));
+        for (Path file : files) {
+            if (totalSize <= this.maxCacheSize) break;
+            totalSize -= Files.size(file);
+            this.tryDelete(file);
+        }
+    }
+
+    /**
+     * @param key key of a cached result
+     * @return path of the cache file of the result with the given key
+     */
+    private Path getCacheFile(String key) {
+        return this.cacheDirectory.resolve(key + fileExtension);
+    }
+
+    /**
+     * Try to delete the given file. If the file cannot be deleted, the exception is printed to stderr.
+     *
+     * @param file file which is deleted
+     */
+    private void tryDelete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Encode the given solver result to the binary cache file format.
+     *
+     * @param key    key of the result, which is stored in the file to detect mismatching files
+     * @param result solver result which is encoded
+     * @return content of the cache file
+     * @throws IOException if the result could not be encoded
+     */
+    private static byte[] encode(String key, SolverResult result) throws IOException {
+        // collect distinct strings and atoms of the result
+        Map<String, Integer> stringIndices = new LinkedHashMap<>();
+        Map<Atom, Integer> atomIndices = new LinkedHashMap<>();
+        for (List<Atom> answerSet : result.getAnswerSets()) {
+            for (Atom atom : answerSet) {
+                if (atomIndices.containsKey(atom)) continue;
+                atomIndices.put(atom, atomIndices.size());
+                stringIndices.putIfAbsent(atom.getPredicateName(), stringIndices.size());
+                for (String argument : atom.getArguments()) stringIndices.putIfAbsent(argument, stringIndices.size());
+            }
+        }
+
+        ByteArrayOutputStream payloadStream = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(payloadStream);
+        writeString(payload, key);
+        writeString(payload, result.getSolverMessage());
+        payload.writeBoolean(result.isMoreAnswerSetsAvailable());
+        writeVarInt(payload, result.getCost() + 1);
+
+        // string table
+        writeVarInt(payload, stringIndices.size());
+        for (String s : stringIndices.keySet()) writeString(payload, s);
+
+        // atom table
+        writeVarInt(payload, atomIndices.size());
+        for (Atom atom : atomIndices.keySet()) {
+            writeVarInt(payload, stringIndices.get(atom.getPredicateName()));
+            writeVarInt(payload, atom.getArguments().size());
+            for (String argument : atom.getArguments()) writeVarInt(payload, stringIndices.get(argument));
+        }
+
+        // answer sets as delta encoded atom indices in the order of the answer set
+        writeVarInt(payload, result.getAnswerSets().size());
+        for (List<Atom> answerSet : result.getAnswerSets()) {
+            writeVarInt(payload, answerSet.size());
+            int previousIndex = 0;
+            for (Atom atom : answerSet) {
+                int index = atomIndices.get(atom);
+                writeSignedVarInt(payload, index - previousIndex);
+                previousIndex = index;
+            }
+        }
+        payload.flush();
+
+        // header with format version, payload length and checksum
+        byte[] payloadBytes = payloadStream.toByteArray();
+        CRC32 checksum = new CRC32();
+        checksum.update(payloadBytes);
+        ByteArrayOutputStream fileStream = new ByteArrayOutputStream(payloadBytes.length + headerLength);
+        DataOutputStream file = new DataOutputStream(fileStream);
+        file.writeInt(fileMagic);
+        file.writeByte(formatVersion);
+        file.writeInt(payloadBytes.length);
+        file.writeLong(checksum.getValue());
+        file.write(payloadBytes);
+        file.flush();
+        return fileStream.toByteArray();
+    }
+
+    /**
+     * Decode a solver result from the binary cache file format.
+     *
+     * @param key     key of the result, which must match the key stored in the file
+     * @param content content of the cache file
+     * @return decoded solver result
+     * @throws IOException if the content is not a valid cache file for the given key
+     */
+    private static SolverResult decode(String key, byte[] content) throws IOException {
+        DataInputStream file = new DataInputStream(new ByteArrayInputStream(content));
+        if (content.length < headerLength || file.readInt() != fileMagic || file.readByte() != formatVersion) {
+            throw new IOException("invalid cache file header");
+        }
+
+        int payloadLength = file.readInt();
+        long expectedChecksum = file.readLong();
+        if (payloadLength != content.length - headerLength) throw new IOException("invalid cache file length");
+        CRC32 checksum = new CRC32();
+        checksum.update(content, headerLength, payloadLength);
+        if (checksum.getValue() != expectedChecksum) throw new IOException("invalid cache file checksum");
+
+        // payload follows the header directly
+        DataInputStream payload = file;
+        if (!readString(payload).equals(key)) throw new IOException("cache file does not match key");
+        String solverMessage = readString(payload);
+        boolean moreAnswerSetsAvailable = payload.readBoolean();
+        int cost = readVarInt(payload) - 1;
+
+        String[] strings = new String[readVarInt(payload)];
+        for (int i = 0; i < strings.length; i++) strings[i] = readString(payload);
+
+        Atom[] atoms = new Atom[readVarInt(payload)];
+        for (int i = 0; i < atoms.length; i++) {
+            String predicateName = strings[readVarInt(payload)];
+            List<String> arguments = new ArrayList<>();
+            int arity = readVarInt(payload);
+            for (int j = 0; j < arity; j++) arguments.add(strings[readVarInt(payload)]);
+            atoms[i] = new SymbolAtom(predicateName, arguments);
+        }
+
+        List<List<Atom>> answerSets = new ArrayList<>();
+        int answerSetCount = readVarInt(payload);
+        for (int i = 0; i < answerSetCount; i++) {
+            int size = readVarInt(payload);
+            List<Atom> answerSet = new ArrayList<>(size);
+            int index = 0;
+            for (int j = 0; j < size; j++) {
+                index += readSignedVarInt(payload);
+                if (index < 0 || index >= atoms.length) throw new IOException("invalid cache file atom index");
+                answerSet.add(atoms[index]);
+            }
+            answerSets.add(answerSet);
+        }
+
+        return new SolverResult(answerSets, solverMessage, moreAnswerSetsAvailable, cost);
+    }
+
+    /**
+     * Write the given string as length prefixed utf-8 bytes to the given stream.
+     *
+     * @param out   stream to which the string is written
+     * @param value string which is written
+     * @throws IOException if the stream could not be written
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Read a length prefixed utf-8 string from the given stream.
+     *
+     * @param in stream from which the string is read
+     * @return read string
+     * @throws IOException if the stream could not be read
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write the given non-negative integer with a variable length encoding to the given stream. Every byte holds seven
+     * bits of the value, the highest bit signals that further bytes follow.
+     *
+     * @param out   stream to which the value is written
+     * @param value non-negative integer which is written
+     * @throws IOException if the stream could not be written
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Write the given integer with a zig-zag variable length encoding to the given stream. The sign is moved to the
+     * lowest bit, so that small negative values (for example: the delta to a smaller atom index) need few bytes.
+     *
+     * @param out   stream to which the value is written
+     * @param value integer which is written
+     * @throws IOException if the stream could not be written
+     */
+    private static void writeSignedVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Read an integer with a zig-zag variable length encoding from the given stream.
+     *
+     * @param in stream from which the value is read
+     * @return read integer value
+     * @throws IOException if the stream could not be read or does not contain a valid value
+     */
+    private static int readSignedVarInt(DataInputStream in) throws IOException {
+        int value = readVarInt(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Read a non-negative integer with a variable length encoding from the given stream.
+     *
+     * @param in stream from which the value is read
+     * @return read integer value
+     * @throws IOException if the stream could not be read or does not contain a valid value
+     */
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) throw new IOException("invalid cache file value");
+                return value;
+            }
+        }
+        throw new IOException("invalid cache file value");
+    }
+}
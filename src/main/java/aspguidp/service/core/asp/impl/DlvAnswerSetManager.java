@@ -1,23 +1,34 @@
 package aspguidp.service.core.asp.impl;
 
-import aspguidp.helper.AtomHelper;
-import aspguidp.helper.PatternHelper;
 import aspguidp.service.core.asp.AnswerSetManager;
+import aspguidp.service.core.asp.AnswerSetStore;
 import aspguidp.service.core.atom.Atom;
 import javafx.beans.property.*;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Implementation of the {@link AnswerSetManager} interface which extracts answer sets from the output of the dlv logic
- * program solver.
+ * program solver. The costs of the answer sets of an optimizing dlv run ('Best model' and 'Cost' output) are extracted
+ * by the {@link DlvOutputReader}. The loaded answer sets are held by an {@link AnswerSetStore}, the answer set
+ * property contains the list views of the stored answer sets.
  */
 public class DlvAnswerSetManager implements AnswerSetManager {
-    private final ObjectProperty<List<List<Atom>>> answerSetsProperty = new SimpleObjectProperty<>(null);
+    private final ObjectProperty<ObservableList<List<Atom>>> answerSetsProperty = new SimpleObjectProperty<>(null);
     private final BooleanProperty noValidAnswerSetProperty = new SimpleBooleanProperty(false);
+    private final IntegerProperty answerSetOffsetProperty = new SimpleIntegerProperty(0);
+    private final BooleanProperty moreAnswerSetsAvailableProperty = new SimpleBooleanProperty(false);
+    private final IntegerProperty costProperty = new SimpleIntegerProperty(-1);
+    private final BooleanProperty optimumProvenProperty = new SimpleBooleanProperty(false);
+    private final BooleanProperty heuristicProperty = new SimpleBooleanProperty(false);
+    private AnswerSetStore answerSetStore = new AnswerSetStore();
 
     /**
      * {@inheritDoc}
@@ -28,20 +39,85 @@ public class DlvAnswerSetManager implements AnswerSetManager {
         // property is set to false on solver error, as string is not empty in that case
         this.noValidAnswerSetProperty.set(solverOutput.trim().isEmpty());
 
-        // get single answer set strings
-        List<String> answerSetStrings = new ArrayList<>();
-        Matcher m = Pattern.compile(PatternHelper.getAnswerSetPattern()).matcher(solverOutput);
-        while (m.find()) answerSetStrings.add(m.group(1));
-
         // fill answer set list with lists of answer set atoms
+        // the cost of the last answer set of a complete optimizing run is the optimal cost
         List<List<Atom>> answerSets = new ArrayList<>();
-        for (String s : answerSetStrings) {
-            List<String> atomStrings = AtomHelper.extractAtomStringsFromAnswerSet(s);
-            answerSets.add(AtomHelper.atomsFromStringRepresentations(atomStrings));
+        int[] cost = {-1};
+        try {
+            new DlvOutputReader(new StringReader(solverOutput)).readAnswerSets(answerSets::add, c -> cost[0] = c);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // reading from a string reader does not fail
         }
 
-        if (!answerSets.isEmpty()) this.answerSetsProperty.set(answerSets);
-        else this.answerSetsProperty.set(null);
+        this.answerSetOffsetProperty.set(0);
+        this.moreAnswerSetsAvailableProperty.set(false);
+        this.costProperty.set(cost[0]);
+        this.optimumProvenProperty.set(cost[0] >= 0);
+        this.heuristicProperty.set(false);
+        if (!answerSets.isEmpty()) this.answerSetsProperty.set(this.storeAnswerSets(answerSets, true));
+        else this.resetAnswerSets();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAnswerSets(int answerSetOffset, List<List<Atom>> answerSets) {
+        if (answerSets.isEmpty()) return;
+
+        // set new list if answer sets do not follow the loaded answer sets to signal start of new result or new page
+        // or to replace a provisional answer set, append to existing list otherwise
+        ObservableList<List<Atom>> loadedAnswerSets = this.answerSetsProperty.get();
+        if (loadedAnswerSets == null || this.heuristicProperty.get()
+                || answerSetOffset != this.answerSetOffsetProperty.get() + loadedAnswerSets.size()) {
+            this.answerSetOffsetProperty.set(answerSetOffset);
+            this.heuristicProperty.set(false);
+            this.answerSetsProperty.set(this.storeAnswerSets(answerSets, true));
+        } else {
+            loadedAnswerSets.addAll(this.storeAnswerSets(answerSets, false));
+        }
+        this.noValidAnswerSetProperty.set(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setHeuristicAnswerSet(List<Atom> answerSet) {
+        this.answerSetOffsetProperty.set(0);
+        this.heuristicProperty.set(true);
+        this.answerSetsProperty.set(this.storeAnswerSets(Collections.singletonList(answerSet), true));
+        this.noValidAnswerSetProperty.set(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void discardHeuristicAnswerSet() {
+        if (!this.heuristicProperty.get()) return;
+        this.heuristicProperty.set(false);
+        this.resetAnswerSets();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void completeAnswerSets(boolean emptySolverOutput, boolean moreAnswerSetsAvailable) {
+        // a provisional answer set which was not replaced by an exact answer set is not a result of the solver
+        this.discardHeuristicAnswerSet();
+        this.noValidAnswerSetProperty.set(emptySolverOutput && this.answerSetsProperty.get() == null);
+        this.moreAnswerSetsAvailableProperty.set(moreAnswerSetsAvailable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setCost(int cost, boolean optimumProven) {
+        this.costProperty.set(cost);
+        this.optimumProvenProperty.set(optimumProven);
     }
 
     /**
@@ -49,15 +125,51 @@ public class DlvAnswerSetManager implements AnswerSetManager {
      */
     @Override
     public void resetProperties() {
-        this.answerSetsProperty.set(null);
+        this.resetAnswerSets();
         this.noValidAnswerSetProperty.set(false);
+        this.answerSetOffsetProperty.set(0);
+        this.moreAnswerSetsAvailableProperty.set(false);
+        this.costProperty.set(-1);
+        this.optimumProvenProperty.set(false);
+        this.heuristicProperty.set(false);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public ReadOnlyObjectProperty<List<List<Atom>>> answerSetsProperty() {
+    public AnswerSetStore getAnswerSetStore() {
+        return this.answerSetStore;
+    }
+
+    /**
+     * Add the given answer sets to the answer set store and create an observable list of the list views of the
+     * stored answer sets.
+     *
+     * @param answerSets  answer sets which are stored
+     * @param replaceLoad true if the loaded answer sets are replaced, which starts a new answer set store
+     * @return observable list which contains the list views of the given answer sets
+     */
+    private ObservableList<List<Atom>> storeAnswerSets(List<List<Atom>> answerSets, boolean replaceLoad) {
+        if (replaceLoad) this.answerSetStore = new AnswerSetStore();
+        ObservableList<List<Atom>> storedAnswerSets = FXCollections.observableArrayList();
+        for (List<Atom> answerSet : answerSets) storedAnswerSets.add(this.answerSetStore.addAnswerSet(answerSet));
+        return storedAnswerSets;
+    }
+
+    /**
+     * Remove the loaded answer sets from the answer set property and the answer set store.
+     */
+    private void resetAnswerSets() {
+        this.answerSetStore = new AnswerSetStore();
+        this.answerSetsProperty.set(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReadOnlyObjectProperty<ObservableList<List<Atom>>> answerSetsProperty() {
         return this.answerSetsProperty;
     }
 
@@ -68,4 +180,44 @@ public class DlvAnswerSetManager implements AnswerSetManager {
     public ReadOnlyBooleanProperty noValidAnswerSetProperty() {
         return this.noValidAnswerSetProperty;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReadOnlyIntegerProperty answerSetOffsetProperty() {
+        return this.answerSetOffsetProperty;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReadOnlyBooleanProperty moreAnswerSetsAvailableProperty() {
+        return this.moreAnswerSetsAvailableProperty;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReadOnlyIntegerProperty costProperty() {
+        return this.costProperty;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReadOnlyBooleanProperty optimumProvenProperty() {
+        return this.optimumProvenProperty;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReadOnlyBooleanProperty heuristicProperty() {
+        return this.heuristicProperty;
+    }
 }
@@ -1,60 +1,190 @@
 package aspguidp.service.core.asp.impl;
 
-import aspguidp.Main;
 import aspguidp.helper.AtomHelper;
-import aspguidp.service.core.asp.AnswerSetManager;
 import aspguidp.service.core.asp.AspSolverService;
-import aspguidp.service.core.asp.SolverMessageManager;
+import aspguidp.service.core.asp.PlanningObjective;
+import aspguidp.service.core.asp.SchedulingProblem;
+import aspguidp.service.core.asp.SolverBackend;
+import aspguidp.service.core.asp.SolverConfiguration;
+import aspguidp.service.core.asp.SolverExecution;
 import aspguidp.service.core.atom.Atom;
 
 import java.io.*;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Implementation of the {@link AspSolverService} interface which implements the execution of the dlv logic program
  * solver.
+ * <p>
+ * The number of answer sets which are computed by the dlv solver is bounded by the model limit of the solver
+ * configuration and the answer set window of the execution. If an execution starts at an answer set offset, the dlv
+ * solver is executed again and the answer sets before the offset are skipped, as the enumeration order of the dlv
+ * solver is deterministic for the same input.
+ * <p>
+ * The maximum integer of the dlv solver ('#maxint') is not defined by the logic program. Instead, the solver service
+ * derives a tight bound from the input atoms before every run ({@link SchedulingProblem#getIntegerBound()}) and
+ * passes it to the solver together with the input atoms. Therefore, the solver does not ground more time points than
+ * the instance needs and large instances are not cut off. The maximum project duration is passed to the solver as
+ * horizon of the project ({@link SchedulingProblem#getSolverAtoms()}), so that a loose maximum project duration does
+ * not raise the bound, and restored in the answer sets.
+ * <p>
+ * Additionally, the earliest and latest start time of every task is calculated from the dependencies of the tasks
+ * and the horizon of the project ({@link SchedulingProblem#getStartWindowAtoms()}). The start windows are passed to
+ * the solver as 'start_window/3' atoms, which restrict the start times that are grounded by the logic program.
+ * <p>
+ * The standard output and the standard error stream of the dlv process are drained concurrently by
+ * {@link ProcessStreamPump} instances, the statistics of both streams are added to the execution.
+ * Every run of the dlv solver is observed by a {@link SolverWatchdog}, which stops the solver process if the time,
+ * output or answer set limit of the solver configuration is exceeded.
+ * <p>
+ * If the solver configuration selects an optimization objective, the weak constraints of the objective are appended to
+ * the logic program. In this case, the dlv solver only prints improving answer sets, which are published together
+ * with their cost as soon as they are read.
  */
 public class DlvAspSolverService implements AspSolverService {
+    private static final int stderrBufferLimit = 64 * 1024;
+
     private final String logicProgramContent;
+    private final SolverConfiguration configuration;
+    private final List<String> solverArguments;
 
     /**
      * Create a new solver service instance for the logic program which can be accessed in the program resources with
      * the given path.
      *
      * @param logicProgramPath path of the logic program which is managed by the created solver service instance
+     * @param configuration    solver configuration which holds the settings of the dlv solver
+     */
+    public DlvAspSolverService(String logicProgramPath, SolverConfiguration configuration) {
+        this(new SolverBackend(SolverBackend.DLV.getName(), false, Collections.emptyList(), logicProgramPath),
+                configuration);
+    }
+
+    /**
+     * Create a new solver service instance which executes the dlv solver with the arguments and the encoding of the
+     * given backend.
+     *
+     * @param backend       backend which defines the arguments of the dlv solver and the encoding of the problem
+     * @param configuration solver configuration which holds the settings of the dlv solver
      */
-    public DlvAspSolverService(String logicProgramPath) {
-        InputStream programFileStream = Main.class.getResourceAsStream(logicProgramPath);
-        BufferedReader programFileReader = new BufferedReader(new InputStreamReader(programFileStream));
-        this.logicProgramContent = programFileReader.lines().collect(Collectors.joining("\n"));
+    public DlvAspSolverService(SolverBackend backend, SolverConfiguration configuration) {
+        this.configuration = configuration;
+        this.solverArguments = backend.getSolverArguments();
+        String logicProgramContent = backend.readLogicProgram();
+
+        // append the weak constraints of the objective, if the solver optimizes an objective
+        PlanningObjective objective = configuration.getObjective();
+        if (objective.isOptimizing()) logicProgramContent += "\n" + objective.getWeakConstraints();
+        this.logicProgramContent = logicProgramContent;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void executeLogicProgram(Collection<Atom> atoms, SolverMessageManager solverMessageManager, AnswerSetManager answerSetManager) throws IOException {
-        // instantiate dlv process
-        ProcessBuilder pb = new ProcessBuilder("dlv", "-silent", "--");
-        Process p = pb.start();
+    public void executeLogicProgram(Collection<Atom> atoms, SolverExecution execution) throws IOException {
+        // build integer bound, start windows and input atoms before the process is started
+        // an invalid input does not start a solver process
+        SchedulingProblem problem = new SchedulingProblem(atoms);
+        String inputProgramCode = String.format("\n#maxint=%d.\n", problem.getIntegerBound())
+                + AtomHelper.getProgramCode(problem.getStartWindowAtoms())
+                + AtomHelper.getProgramCode(problem.getSolverAtoms());
+
+        // instantiate dlv process, destroy process on cancellation of the execution
+        int modelCount = this.configuration.getModelCount(execution.getAnswerSetOffset(),
+                execution.getAnswerSetCount());
+        Process p = this.startSolverProcess(modelCount);
+        execution.addCancelHandler(p::destroyForcibly);
+
+        try (SolverWatchdog watchdog = new SolverWatchdog(execution, this.configuration, p::destroyForcibly)) {
+            // drain stdout and stderr concurrently, so that the process never blocks on a full pipe
+            // read answer sets from dlv output while the solver is running
+            // skip answer sets before the window of the execution
+            // publish the cost of an improving answer set of an optimizing run after the answer set
+            int[] answerSetIndex = {0};
+            boolean[] answerSetPublished = {false};
+            ProcessStreamPump stdoutPump = new ProcessStreamPump("stdout", watchdog.watchOutput(p.getInputStream()),
+                    stream -> new DlvOutputReader(new InputStreamReader(stream)).readAnswerSets(answerSet -> {
+                        answerSetPublished[0] = false;
+                        if (!watchdog.tryAcceptAnswerSet()) return;
+                        if (answerSetIndex[0]++ < execution.getAnswerSetOffset()) return;
+                        execution.publishAnswerSet(problem.restoreInputAtoms(answerSet));
+                        answerSetPublished[0] = true;
+                    }, cost -> {
+                        if (answerSetPublished[0]) execution.publishCost(cost);
+                    }));
+            ProcessStreamPump stderrPump = new ProcessStreamPump("stderr", p.getErrorStream(),
+                    ProcessStreamPump.boundedContent(stderrBufferLimit));
+            stdoutPump.start();
+            stderrPump.start();
+
+            try {
+                // write input program code, the logic program was already written on start of the process
+                execution.updateStatus("writing logic program");
+                OutputStreamWriter osw = new OutputStreamWriter(p.getOutputStream());
+                osw.write(inputProgramCode);
+                osw.close(); // no need to flush() manually, close() will do it automatically
+
+                execution.updateStatus("solving logic program");
+                String stdoutMessage = stdoutPump.awaitResult();
+                String stderrContent = stderrPump.awaitResult();
 
-        // write program content
+                // pass remaining output to execution
+                // further answer sets may exist if the enumeration was stopped by the window of the execution
+                execution.appendSolverMessage(stdoutMessage + stderrContent);
+                boolean windowLimited = execution.getAnswerSetCount() > 0
+                        && modelCount == execution.getAnswerSetOffset() + execution.getAnswerSetCount();
+                execution.setMoreAnswerSetsAvailable(windowLimited && answerSetIndex[0] == modelCount);
+            } finally {
+                execution.addStreamStatistics(stdoutPump.getStatistics());
+                execution.addStreamStatistics(stderrPump.getStatistics());
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // streams of the process are closed if the process is destroyed on cancellation or by the watchdog
+            if (!execution.isCancelled() && !execution.isTruncated()) throw e;
+        } finally {
+            // a failure before the end of the output leaves the process running and the stream pumps blocked
+            // destroying the process closes its streams, which terminates the pumps
+            p.destroyForcibly();
+        }
+    }
+
+    /**
+     * Start a new dlv solver process which computes the given number of answer sets and write the content of the
+     * logic program to the standard input of the process. The standard input is not closed, so that the input atoms can
+     * be written to the process afterwards.
+     *
+     * @param modelCount number of answer sets which are computed by the dlv solver (0 means unlimited)
+     * @return started dlv process, which waits for the input atoms
+     * @throws IOException if the process could not be started
+     */
+    protected Process startSolverProcess(int modelCount) throws IOException {
+        ProcessBuilder pb = new ProcessBuilder(this.getSolverCommand(modelCount));
+        Process p = pb.start();
         OutputStreamWriter osw = new OutputStreamWriter(p.getOutputStream());
         osw.write(this.logicProgramContent);
-        osw.write(AtomHelper.getProgramCode(atoms));
-        osw.close(); // no need to flush() manually, close() will do it automatically
-
-        // collect dlv output
-        BufferedReader stdoutReader = new BufferedReader(new InputStreamReader(p.getInputStream()));
-        String stdoutContent = stdoutReader.lines().collect(Collectors.joining("\n"));
-        BufferedReader stderrReader = new BufferedReader(new InputStreamReader(p.getErrorStream()));
-        String stderrContent = stderrReader.lines().collect(Collectors.joining("\n"));
-        String solverOutput = stdoutContent + stderrContent;
-
-        // write to managers
-        solverMessageManager.setPropertiesBySolverOutput(solverOutput);
-        answerSetManager.setPropertiesBySolverOutput(solverOutput);
+        osw.flush();
+        return p;
+    }
+
+    /**
+     * Build the command which is used to start the dlv solver process. The arguments of the backend of the solver
+     * service are passed after the default arguments.
+     *
+     * @param modelCount number of answer sets which are computed by the dlv solver (0 means unlimited)
+     * @return list of command arguments for the dlv process
+     */
+    protected List<String> getSolverCommand(int modelCount) {
+        List<String> command = new ArrayList<>();
+        command.add("dlv");
+        command.add("-silent");
+        if (modelCount > 0) command.add("-n=" + modelCount);
+        command.addAll(this.solverArguments);
+        command.add("--");
+        return command;
     }
 
     /**
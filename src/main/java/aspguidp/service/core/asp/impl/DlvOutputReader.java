@@ -0,0 +1,265 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.impl.AtomTokenizer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reader class which incrementally extracts answer sets from the output of the dlv logic program solver.
+ * <p>
+ * The dlv solver prints every answer set as a single block of comma separated atoms, which is enclosed by curly
+ * braces (for example: '{task(a,1,2), depends_on(a,b)}'). The reader processes the output of the solver character by
+ * character and passes every answer set to a given consumer as soon as the closing brace of the answer set was read.
+ * Therefore, answer sets can be processed while the solver is still running and the output of the solver does not
+ * need to be held in memory as a whole. The atoms of an answer set are read by the {@link AtomTokenizer} directly from
+ * the buffer of the answer set, without intermediate atom strings.
+ * <p>
+ * Output of the solver which is not part of an answer set (for example: warnings or errors) is collected line by line
+ * in a bounded buffer during the same pass and returned after the end of the output was reached. Whitespace between
+ * the answer sets does not count towards the bound of the buffer. Therefore, the extraction of solver messages takes
+ * linear time and a bounded amount of memory, regardless of the number of answer sets.
+ * <p>
+ * If the logic program contains weak constraints, the dlv solver prints every improving answer set with the prefix
+ * 'Best model: ' and prints the cost of the answer set in the following line (for example:
+ * 'Cost ([Weight:Level]): &lt;[12:1]&gt;'). The prefix is skipped and the cost is passed to a given cost consumer, both
+ * are not part of the remaining output.
+ */
+public class DlvOutputReader {
+    private static final int bufferSize = 8192;
+    private static final int defaultMessageLimit = 64 * 1024;
+    private static final String bestModelPrefix = "Best model:";
+    private static final String costPrefix = "Cost ([Weight:Level]):";
+    private static final Pattern costPattern = Pattern.compile("\\[(\\d+):(\\d+)]");
+
+    private final Reader reader;
+    private final int messageLimit;
+
+    /**
+     * Create a new output reader which reads the output of the dlv solver from the given reader. The remaining output
+     * is bounded by the default message limit.
+     *
+     * @param reader reader which provides the output of the dlv solver
+     */
+    public DlvOutputReader(Reader reader) {
+        this(reader, defaultMessageLimit);
+    }
+
+    /**
+     * Create a new output reader which reads the output of the dlv solver from the given reader.
+     *
+     * @param reader       reader which provides the output of the dlv solver
+     * @param messageLimit maximum number of characters of the remaining output which are kept
+     */
+    public DlvOutputReader(Reader reader, int messageLimit) {
+        this.reader = reader;
+        this.messageLimit = messageLimit;
+    }
+
+    /**
+     * Read the output of the solver until the end of the output is reached. Every answer set is passed to the given
+     * consumer directly after it was read.
+     *
+     * @param answerSetConsumer consumer which is called with the atoms of every answer set in the output
+     * @return output of the solver which is not part of an answer set
+     * @throws IOException if the output of the solver could not be read
+     */
+    public String readAnswerSets(Consumer<List<Atom>> answerSetConsumer) throws IOException {
+        return this.readAnswerSets(answerSetConsumer, cost -> {});
+    }
+
+    /**
+     * Read the output of the solver until the end of the output is reached, without reading the atoms of the answer
+     * sets (for example: to extract the messages of the solver).
+     *
+     * @return output of the solver which is not part of an answer set
+     * @throws IOException if the output of the solver could not be read
+     */
+    public String readRemainingOutput() throws IOException {
+        return this.readAnswerSets(null, cost -> {});
+    }
+
+    /**
+     * Read the output of the solver until the end of the output is reached. Every answer set is passed to the given
+     * answer set consumer directly after it was read, the cost of every answer set of an optimizing solver run is
+     * passed to the given cost consumer directly after the answer set.
+     *
+     * @param answerSetConsumer consumer which is called with the atoms of every answer set in the output, null if the
+     *                          atoms of the answer sets are not read
+     * @param costConsumer      consumer which is called with the cost of every answer set in the output
+     * @return output of the solver which is not part of an answer set
+     * @throws IOException if the output of the solver could not be read
+     */
+    public String readAnswerSets(Consumer<List<Atom>> answerSetConsumer, IntConsumer costConsumer)
+            throws IOException {
+        MessageBuffer remainingOutput = new MessageBuffer(this.messageLimit);
+        StringBuilder line = new StringBuilder();
+        StringBuilder answerSetBuilder = new StringBuilder();
+        boolean insideAnswerSet = false;
+        boolean insideString = false;
+
+        char[] buffer = new char[bufferSize];
+        int length;
+        while ((length = this.reader.read(buffer)) != -1) {
+            for (int i = 0; i < length; i++) {
+                char c = buffer[i];
+                if (!insideAnswerSet) {
+                    if (c == '{') {
+                        // the prefix of an improving answer set is not part of the remaining output
+                        insideAnswerSet = true;
+                        if (!startsWith(line, bestModelPrefix)) remainingOutput.append(line);
+                        line.setLength(0);
+                    } else if (c == '\n') {
+                        if (!tryReadCost(line, costConsumer)) remainingOutput.append(line.append(c));
+                        line.setLength(0);
+                    } else {
+                        // a line which is too long for a prefix or a cost is passed on without waiting for its end
+                        line.append(c);
+                        if (line.length() >= bufferSize) {
+                            remainingOutput.append(line);
+                            line.setLength(0);
+                        }
+                    }
+                } else if (insideString) {
+                    // closing braces inside of quoted string arguments do not terminate the answer set
+                    if (c == '"' && answerSetBuilder.charAt(answerSetBuilder.length() - 1) != '\\') insideString = false;
+                    answerSetBuilder.append(c);
+                } else if (c == '"') {
+                    insideString = true;
+                    answerSetBuilder.append(c);
+                } else if (c == '}') {
+                    if (answerSetConsumer != null) {
+                        answerSetConsumer.accept(AtomTokenizer.readAtoms(answerSetBuilder));
+                    }
+                    answerSetBuilder.setLength(0);
+                    insideAnswerSet = false;
+                } else {
+                    answerSetBuilder.append(c);
+                }
+            }
+        }
+
+        // an unterminated answer set is not a valid answer set, keep it as remaining output
+        if (insideAnswerSet) remainingOutput.append(line.append('{').append(answerSetBuilder));
+        else if (!tryReadCost(line, costConsumer)) remainingOutput.append(line);
+        return remainingOutput.toString();
+    }
+
+    /**
+     * Try to read the cost of an answer set from the given line of the output. If the line contains a cost, the cost
+     * is passed to the given consumer.
+     * <p>
+     * The cost of an answer set consists of a weight for every level of the weak constraints. Only the weight of the
+     * highest level is passed to the consumer, as the weak constraints of the project planning objectives only use a
+     * single level.
+     *
+     * @param line         line of the output which is not part of an answer set
+     * @param costConsumer consumer which is called with the cost of the line
+     * @return true if the line contained a cost, which is not part of the remaining output
+     */
+    private static boolean tryReadCost(StringBuilder line, IntConsumer costConsumer) {
+        if (!startsWith(line, costPrefix)) return false;
+
+        Matcher costMatcher = costPattern.matcher(line.substring(costPrefix.length()));
+        int cost = -1;
+        int costLevel = -1;
+        while (costMatcher.find()) {
+            int level = Integer.parseInt(costMatcher.group(2));
+            if (level > costLevel) {
+                cost = Integer.parseInt(costMatcher.group(1));
+                costLevel = level;
+            }
+        }
+        if (cost < 0) return false;
+
+        costConsumer.accept(cost);
+        return true;
+    }
+
+    /**
+     * @param s      string builder which is checked
+     * @param prefix prefix which is checked
+     * @return true if the content of the string builder starts with the given prefix
+     */
+    private static boolean startsWith(StringBuilder s, String prefix) {
+        if (s.length() < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (s.charAt(i) != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Bounded buffer for the output of the solver which is not part of an answer set. If the output exceeds the
+     * buffer limit, only the beginning of the output is kept and a note about the omitted characters is appended.
+     * <p>
+     * Whitespace-only output (for example: the line break which the solver prints after every answer set) does not
+     * count towards the buffer limit. It is held back until further output follows and a run of whitespace is
+     * shortened to a few characters, so that the line breaks of many answer sets do not displace later messages.
+     */
+    private static class MessageBuffer {
+        private static final int whitespaceLimit = 4;
+
+        private final StringBuilder content = new StringBuilder();
+        private final StringBuilder pendingWhitespace = new StringBuilder();
+        private final int bufferLimit;
+        private long omittedCharacters = 0;
+
+        /**
+         * @param bufferLimit maximum number of characters which are kept
+         */
+        private MessageBuffer(int bufferLimit) {
+            this.bufferLimit = bufferLimit;
+        }
+
+        /**
+         * @param s characters which are appended to the buffer, as far as the buffer limit allows
+         */
+        private void append(CharSequence s) {
+            if (isWhitespace(s)) {
+                int keptLength = Math.min(s.length(), whitespaceLimit - this.pendingWhitespace.length());
+                this.pendingWhitespace.append(s, 0, keptLength);
+                return;
+            }
+
+            this.appendBounded(this.pendingWhitespace);
+            this.pendingWhitespace.setLength(0);
+            this.appendBounded(s);
+        }
+
+        /**
+         * @param s characters which are appended to the content, as far as the buffer limit allows
+         */
+        private void appendBounded(CharSequence s) {
+            int keptLength = Math.max(0, Math.min(s.length(), this.bufferLimit - this.content.length()));
+            this.content.append(s, 0, keptLength);
+            this.omittedCharacters += s.length() - keptLength;
+        }
+
+        /**
+         * @param s characters which are checked
+         * @return true if the characters only consist of whitespace
+         */
+        private static boolean isWhitespace(CharSequence s) {
+            for (int i = 0; i < s.length(); i++) {
+                if (!Character.isWhitespace(s.charAt(i))) return false;
+            }
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            if (this.omittedCharacters == 0) return this.content.toString() + this.pendingWhitespace;
+            return this.content + String.format("\n(%d characters omitted)", this.omittedCharacters);
+        }
+    }
+}
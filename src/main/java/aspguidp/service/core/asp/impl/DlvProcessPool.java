@@ -0,0 +1,143 @@
+package aspguidp.service.core.asp.impl;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pool class which holds a number of pre-started (warmed) dlv solver processes.
+ * <p>
+ * The dlv solver reads its standard input until the end of the input is reached, before it starts solving the logic
+ * program. Therefore, a solver process can be started ahead of time and the content of the logic program can be
+ * written to the process, while the process waits for the input atoms. The pool holds such warmed processes, so that
+ * an execution of the logic program does not need to wait for the start of the solver process.
+ * <p>
+ * After a process was taken from the pool, the pool is refilled on a background thread. The processes of the pool
+ * are destroyed, when the pool is closed.
+ */
+public class DlvProcessPool implements AutoCloseable {
+    private static final ExecutorService refillService = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dlv-process-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ProcessStarter processStarter;
+    private final int poolSize;
+    private final Deque<Process> processes = new ArrayDeque<>();
+    private boolean refillScheduled = false;
+    private boolean closed = false;
+
+    /**
+     * Create a new process pool and start filling the pool on a background thread.
+     *
+     * @param processStarter starter which is used to start new warmed solver processes
+     * @param poolSize       number of warmed processes which are held by the pool
+     */
+    public DlvProcessPool(ProcessStarter processStarter, int poolSize) {
+        this.processStarter = processStarter;
+        this.poolSize = poolSize;
+        this.scheduleRefill();
+    }
+
+    /**
+     * Take a warmed process from the pool. If the pool is empty, a new process is started on the calling thread.
+     * The pool is refilled on a background thread afterwards.
+     *
+     * @return warmed solver process, which waits for the input atoms
+     * @throws IOException if the pool is empty and a new process could not be started
+     */
+    public Process acquire() throws IOException {
+        Process process = null;
+        synchronized (this) {
+            // processes may have been terminated externally while they were waiting in the pool
+            while (process == null && !this.processes.isEmpty()) {
+                Process pooledProcess = this.processes.poll();
+                if (pooledProcess.isAlive()) process = pooledProcess;
+            }
+        }
+
+        this.scheduleRefill();
+        return (process != null) ? process : this.processStarter.start();
+    }
+
+    /**
+     * @return number of warmed processes which are currently held by the pool
+     */
+    public synchronized int getAvailableProcessCount() {
+        return this.processes.size();
+    }
+
+    /**
+     * Close the pool and destroy all warmed processes of the pool. Processes which were taken from the pool are not
+     * affected.
+     */
+    @Override
+    public void close() {
+        List<Process> pooledProcesses;
+        synchronized (this) {
+            this.closed = true;
+            pooledProcesses = new ArrayList<>(this.processes);
+            this.processes.clear();
+        }
+        pooledProcesses.forEach(Process::destroyForcibly);
+    }
+
+    /**
+     * Schedule the refill of the pool on the background thread, if no refill is scheduled yet.
+     */
+    private synchronized void scheduleRefill() {
+        if (this.closed || this.refillScheduled) return;
+        this.refillScheduled = true;
+        refillService.submit(this::refill);
+    }
+
+    /**
+     * Start new warmed processes until the pool is full. If a process cannot be started, the refill is stopped until
+     * the next process is taken from the pool.
+     */
+    private void refill() {
+        try {
+            while (true) {
+                synchronized (this) {
+                    if (this.closed || this.processes.size() >= this.poolSize) {
+                        this.refillScheduled = false;
+                        return;
+                    }
+                }
+
+                Process process = this.processStarter.start();
+                synchronized (this) {
+                    if (this.closed) {
+                        process.destroyForcibly();
+                    } else {
+                        this.processes.add(process);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            synchronized (this) {
+                this.refillScheduled = false;
+            }
+        }
+    }
+
+    /**
+     * Starter which starts a new warmed solver process for a {@link DlvProcessPool}.
+     */
+    @FunctionalInterface
+    public interface ProcessStarter {
+        /**
+         * Start a new solver process and write the content of the logic program to the standard input of the process.
+         *
+         * @return started solver process, which waits for the input atoms
+         * @throws IOException if the process could not be started
+         */
+        Process start() throws IOException;
+    }
+}
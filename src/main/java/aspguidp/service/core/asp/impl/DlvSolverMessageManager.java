@@ -1,33 +1,71 @@
 package aspguidp.service.core.asp.impl;
 
-import aspguidp.helper.PatternHelper;
 import aspguidp.service.core.asp.SolverMessageManager;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 
 /**
  * Implementation of the {@link SolverMessageManager} interface which extracts messages from the output of the dlv
- * logic program solver.
+ * logic program solver. The messages are separated from the answer sets by the {@link DlvOutputReader}.
  */
 public class DlvSolverMessageManager implements SolverMessageManager {
     private final StringProperty solverMessageProperty = new SimpleStringProperty(null);
+    private final BooleanProperty truncatedProperty = new SimpleBooleanProperty(false);
+    private String solverMessage = null;
+    private String truncationReason = null;
 
     /**
      * {@inheritDoc}
      */
     @Override
     public void setPropertiesBySolverOutput(String solverOutput) {
-        // extract solver output which is not a valid answer set
-        String remainingOutput = solverOutput;
-        Matcher m = Pattern.compile(PatternHelper.getAnswerSetPattern()).matcher(solverOutput);
-        while (m.find()) remainingOutput = remainingOutput.replaceAll(Pattern.quote(m.group()), "");
+        // extract solver output which is not a valid answer set in a single pass over the output
+        String remainingOutput;
+        try {
+            remainingOutput = new DlvOutputReader(new StringReader(solverOutput)).readRemainingOutput();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // reading from a string reader does not fail
+        }
 
-        if (!remainingOutput.trim().isEmpty()) this.solverMessageProperty.set(remainingOutput.trim());
-        else this.solverMessageProperty.set(null);
+        this.setSolverMessage(remainingOutput);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSolverMessage(String solverMessage) {
+        this.solverMessage = (solverMessage != null && !solverMessage.trim().isEmpty()) ? solverMessage.trim() : null;
+        this.updateSolverMessageProperty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setTruncated(String truncationReason) {
+        this.truncationReason = truncationReason;
+        this.truncatedProperty.set(truncationReason != null);
+        this.updateSolverMessageProperty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resetProperties() {
+        this.solverMessage = null;
+        this.truncationReason = null;
+        this.truncatedProperty.set(false);
+        this.solverMessageProperty.set(null);
     }
 
     /**
@@ -37,4 +75,28 @@ public class DlvSolverMessageManager implements SolverMessageManager {
     public ReadOnlyStringProperty solverMessageProperty() {
         return this.solverMessageProperty;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReadOnlyBooleanProperty truncatedProperty() {
+        return this.truncatedProperty;
+    }
+
+    /**
+     * Update the solver message property to the current solver message. If the result is truncated, a note with the
+     * truncation reason is added in front of the solver message.
+     */
+    private void updateSolverMessageProperty() {
+        if (this.truncationReason == null) {
+            this.solverMessageProperty.set(this.solverMessage);
+            return;
+        }
+
+        String truncationNote = String.format("solver stopped: %s, the answer sets are incomplete",
+                this.truncationReason);
+        this.solverMessageProperty.set((this.solverMessage != null)
+                ? truncationNote + "\n" + this.solverMessage : truncationNote);
+    }
 }
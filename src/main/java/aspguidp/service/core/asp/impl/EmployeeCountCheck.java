@@ -0,0 +1,28 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.FeasibilityCheck;
+import aspguidp.service.core.asp.SchedulingProblem;
+
+/**
+ * Implementation of the {@link FeasibilityCheck} interface which detects tasks that need more employees than the
+ * maximum employee count of the project.
+ */
+public class EmployeeCountCheck implements FeasibilityCheck {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String check(SchedulingProblem problem) {
+        int maxEmployeeCount = problem.getMaxEmployeeCount();
+        if (maxEmployeeCount < 0) return null;
+
+        // tasks without duration are never active, so their employees are not counted
+        for (int task = 0; task < problem.getTaskCount(); task++) {
+            if (problem.getDuration(task) > 0 && problem.getEmployeeCount(task) > maxEmployeeCount) {
+                return String.format("the task %s needs %d employees, but the project has only %d employees",
+                        problem.getTaskName(task), problem.getEmployeeCount(task), maxEmployeeCount);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,64 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.SchedulingProblem;
+import aspguidp.service.core.asp.SolverExecution;
+import aspguidp.service.core.atom.Atom;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Implementation of the {@link AspSolverService} interface which publishes a provisional plan, which is computed by a
+ * {@link ListScheduler}, before the logic program is executed by another solver service.
+ * <p>
+ * The provisional plan is computed within milliseconds and published as heuristic answer set to the execution. It is
+ * displayed until the wrapped solver service publishes the first exact answer set, which replaces the provisional
+ * plan. The provisional plan is not part of the result of the execution (for example: it is not cached).
+ * <p>
+ * Page executions after the first page do not publish a provisional plan, as the first page is already displayed.
+ */
+public class HeuristicAspSolverService implements AspSolverService {
+    private final AspSolverService solverService;
+
+    /**
+     * Create a new heuristic solver service which publishes a provisional plan before the given solver service is
+     * executed.
+     *
+     * @param solverService solver service which computes the exact answer sets
+     */
+    public HeuristicAspSolverService(AspSolverService solverService) {
+        this.solverService = solverService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void executeLogicProgram(Collection<Atom> atoms, SolverExecution execution) throws IOException {
+        if (execution.getAnswerSetOffset() == 0 && !execution.isDetached()) {
+            execution.updateStatus("computing provisional plan");
+            SchedulingProblem problem = new SchedulingProblem(atoms);
+            int[] startTimes = new ListScheduler(problem).schedule();
+            if (startTimes != null) execution.publishHeuristicAnswerSet(problem.createAnswerSet(startTimes));
+        }
+
+        this.solverService.executeLogicProgram(atoms, execution);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        this.solverService.shutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLogicProgramContent() {
+        return this.solverService.getLogicProgramContent();
+    }
+}
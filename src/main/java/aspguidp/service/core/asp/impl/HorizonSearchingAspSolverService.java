@@ -0,0 +1,185 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.PlanningObjective;
+import aspguidp.service.core.asp.SchedulingProblem;
+import aspguidp.service.core.asp.SolverExecution;
+import aspguidp.service.core.atom.Atom;
+import aspguidp.service.core.atom.impl.SimpleAtom;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementation of the {@link AspSolverService} interface which searches a plan with minimal project duration by
+ * executing another solver service with tightened maximum project durations.
+ * <p>
+ * The search starts with cheap bounds of the project duration: the lower bound of the {@link SchedulingProblem} (the
+ * longest dependency chain and the total work divided by the maximum employee count) and the project duration of the
+ * plan of a {@link ListScheduler}. The interval between the bounds is narrowed by parallel probes: every probe
+ * executes the wrapped solver service with the input atoms and a tightened 'max_project_duration' atom and reports,
+ * if a plan with this project duration exists. As the horizon of a probe is much smaller than the horizon of the
+ * input, the grounding of a probe is much smaller than the grounding of the unrestricted logic program.
+ * <p>
+ * The shortest plan which was found is published as single answer set, its project duration is published as cost.
+ * If a probe was stopped before it decided its bound (for example: by the time limit), the search cannot prove that
+ * the plan is optimal and the execution is marked as truncated.
+ */
+public class HorizonSearchingAspSolverService implements AspSolverService {
+    private static final ExecutorService executorService = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "solver-horizon-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AspSolverService solverService;
+    private final int probeCount;
+
+    /**
+     * Create a new horizon searching solver service which executes the given number of probes of the given solver
+     * service in parallel.
+     *
+     * @param solverService solver service which is used to execute the probes
+     * @param probeCount    number of probes which are executed in parallel in every step of the search
+     */
+    public HorizonSearchingAspSolverService(AspSolverService solverService, int probeCount) {
+        this.solverService = solverService;
+        this.probeCount = Math.max(1, probeCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void executeLogicProgram(Collection<Atom> atoms, SolverExecution execution) throws IOException {
+        SchedulingProblem problem = new SchedulingProblem(atoms);
+        if (execution.getAnswerSetOffset() > 0 || !problem.isAcyclic() || problem.getTaskCount() == 0) {
+            this.solverService.executeLogicProgram(atoms, execution);
+            return;
+        }
+
+        // every plan lasts at least the lower bound, a plan exists with the project duration of the heuristic plan
+        int[] bestPlan = new ListScheduler(problem).schedule();
+        int lowerBound = problem.getLowerBound();
+        int upperBound = (bestPlan != null) ? problem.getCost(bestPlan, PlanningObjective.PROJECT_DURATION)
+                : problem.getHorizon() + 1;
+        String truncationReason = "horizon search stopped before the minimal project duration was proven";
+        List<SolverExecution> probeExecutions = new CopyOnWriteArrayList<>();
+        execution.addCancelHandler(() -> probeExecutions.forEach(probeExecution -> probeExecution.cancel(true)));
+
+        while (lowerBound < upperBound) {
+            execution.updateStatus(String.format("searching project duration (%d to %d)", lowerBound,
+                    upperBound - 1));
+            List<Integer> bounds = this.getProbeBounds(lowerBound, upperBound);
+            List<Future<?>> probeResults = new ArrayList<>();
+            probeExecutions.clear();
+            for (int bound : bounds) {
+                List<Atom> probeAtoms = this.createProbeAtoms(atoms, bound);
+                SolverExecution probeExecution = SolverExecution.createDetached(this.solverService, probeAtoms, 0, 1);
+                probeExecutions.add(probeExecution);
+                probeResults.add(executorService.submit(() -> {
+                    this.solverService.executeLogicProgram(probeAtoms, probeExecution);
+                    return null;
+                }));
+            }
+            if (execution.isCancelled()) probeExecutions.forEach(probeExecution -> probeExecution.cancel(true));
+
+            try {
+                for (Future<?> probeResult : probeResults) probeResult.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                probeExecutions.forEach(probeExecution -> probeExecution.cancel(true));
+                return;
+            } catch (ExecutionException e) {
+                probeExecutions.forEach(probeExecution -> probeExecution.cancel(true));
+                if (execution.isCancelled()) return;
+                Throwable cause = e.getCause();
+                throw (cause instanceof IOException) ? (IOException) cause : new IOException(cause);
+            }
+            if (execution.isCancelled()) return;
+
+            // a probe with a plan lowers the upper bound, a completed probe without plan raises the lower bound
+            int previousLowerBound = lowerBound;
+            int previousUpperBound = upperBound;
+            int infeasibleBound = -1;
+            for (int i = 0; i < bounds.size(); i++) {
+                SolverExecution probeExecution = probeExecutions.get(i);
+                if (probeExecution.getAnswerSets().isEmpty()) {
+                    if (!probeExecution.isTruncated()) infeasibleBound = Math.max(infeasibleBound, bounds.get(i));
+                    else truncationReason = probeExecution.getTruncationReason();
+                    continue;
+                }
+                int[] startTimes = problem.getStartTimes(probeExecution.getAnswerSets().get(0));
+                if (startTimes != null && problem.isPlan(startTimes)
+                        && problem.getCost(startTimes, PlanningObjective.PROJECT_DURATION) < upperBound) {
+                    bestPlan = startTimes;
+                    upperBound = problem.getCost(startTimes, PlanningObjective.PROJECT_DURATION);
+                }
+            }
+            lowerBound = Math.max(lowerBound, Math.min(infeasibleBound + 1, upperBound));
+            if (lowerBound == previousLowerBound && upperBound == previousUpperBound) break;
+        }
+
+        if (bestPlan != null) {
+            execution.publishAnswerSet(problem.createAnswerSet(bestPlan));
+            execution.publishCost(problem.getCost(bestPlan, PlanningObjective.PROJECT_DURATION));
+        }
+        if (lowerBound < upperBound) execution.markTruncated(truncationReason);
+    }
+
+    /**
+     * Distribute the bounds of the probes of a search step evenly between the given bounds. The lower bound is always
+     * probed, as the lower bound is often the minimal project duration.
+     *
+     * @param lowerBound lower bound of the project duration of every plan
+     * @param upperBound project duration of the shortest known plan (or the horizon + 1, if no plan is known)
+     * @return maximum project durations of the probes in ascending order
+     */
+    private List<Integer> getProbeBounds(int lowerBound, int upperBound) {
+        TreeSet<Integer> bounds = new TreeSet<>();
+        int probeCount = (int) Math.min(this.probeCount, (long) upperBound - lowerBound);
+        for (int i = 0; i < probeCount; i++) {
+            bounds.add((int) (lowerBound + ((long) upperBound - lowerBound) * i / probeCount));
+        }
+        return new ArrayList<>(bounds);
+    }
+
+    /**
+     * @param atoms input atoms of the logic program
+     * @param bound maximum project duration of the probe
+     * @return input atoms in which the maximum project duration is replaced by the given bound
+     */
+    private List<Atom> createProbeAtoms(Collection<Atom> atoms, int bound) {
+        List<Atom> probeAtoms = new ArrayList<>();
+        for (Atom atom : atoms) {
+            if (!"max_project_duration".equals(atom.getPredicateName())) probeAtoms.add(atom);
+        }
+        probeAtoms.add(new SimpleAtom("max_project_duration", Collections.singletonList(String.valueOf(bound))));
+        return probeAtoms;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        this.solverService.shutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLogicProgramContent() {
+        return this.solverService.getLogicProgramContent();
+    }
+}
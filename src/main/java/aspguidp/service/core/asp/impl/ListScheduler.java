@@ -0,0 +1,147 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.SchedulingProblem;
+
+import java.util.PriorityQueue;
+
+/**
+ * Scheduler class which computes a single schedule of a {@link SchedulingProblem} with a list scheduling heuristic.
+ * <p>
+ * The tasks are scheduled one after another. Among the tasks of which all predecessors are scheduled, the task with
+ * the longest dependency chain (the critical path through the task) is scheduled first. Every task starts at the
+ * earliest time after its predecessors, at which enough employees are available for the whole duration of the task.
+ * <p>
+ * The earliest start time of a task is either the end of a predecessor or the time at which another task releases its
+ * employees. Therefore, every computed schedule is a plan of the project planning logic program, if it ends before the
+ * horizon of the problem. The heuristic runs in milliseconds, but the computed schedule is not necessarily optimal.
+ */
+public class ListScheduler {
+    private final SchedulingProblem problem;
+
+    /**
+     * Create a new list scheduler for the given problem.
+     *
+     * @param problem scheduling problem of which a schedule is computed
+     */
+    public ListScheduler(SchedulingProblem problem) {
+        this.problem = problem;
+    }
+
+    /**
+     * Compute a schedule of the problem with the list scheduling heuristic.
+     *
+     * @return start time of every task of the problem, null if the heuristic did not find a valid plan (for example:
+     * because the dependencies of the tasks contain a cycle or the schedule exceeds the maximum project duration)
+     */
+    public int[] schedule() {
+        if (!this.problem.isAcyclic()) return null;
+        return this.schedule(this.getPriorityOrder());
+    }
+
+    /**
+     * Compute a schedule of the problem, in which the tasks are scheduled in the given order. Every task must be
+     * ordered after its predecessors.
+     *
+     * @param taskOrder indices of all tasks of the problem in the order in which they are scheduled
+     * @return start time of every task of the problem, null if the schedule is not a valid plan
+     */
+    public int[] schedule(int[] taskOrder) {
+        SchedulingProblem problem = this.problem;
+        int maxEmployeeCount = getEmployeeLimit(problem);
+        int[] employeeProfile = new int[problem.getHorizon() + 1];
+        int[] startTimes = new int[problem.getTaskCount()];
+        for (int task : taskOrder) {
+            int start = findStartTime(problem, task, getEarliestStart(problem, task, startTimes), employeeProfile,
+                    maxEmployeeCount);
+            if (start < 0) return null;
+            startTimes[task] = start;
+            for (int time = start; time < start + problem.getDuration(task); time++) {
+                employeeProfile[time] += problem.getEmployeeCount(task);
+            }
+        }
+        return startTimes;
+    }
+
+    /**
+     * Order the tasks of the problem by the list scheduling priority: among the tasks of which all predecessors are
+     * ordered, the task with the longest dependency chain is ordered first. Ties are broken by the order of the input
+     * atoms.
+     *
+     * @return indices of all tasks of the problem in the order in which they are scheduled
+     */
+    private int[] getPriorityOrder() {
+        SchedulingProblem problem = this.problem;
+        int taskCount = problem.getTaskCount();
+        PriorityQueue<Integer> eligibleTasks = new PriorityQueue<>((a, b) -> {
+            int tailComparison = Integer.compare(problem.getTail(b), problem.getTail(a));
+            return (tailComparison != 0) ? tailComparison : Integer.compare(a, b);
+        });
+        int[] unorderedPredecessors = new int[taskCount];
+        for (int task = 0; task < taskCount; task++) {
+            unorderedPredecessors[task] = problem.getPredecessors(task).length;
+            if (unorderedPredecessors[task] == 0) eligibleTasks.add(task);
+        }
+
+        int[] taskOrder = new int[taskCount];
+        int orderedTaskCount = 0;
+        while (!eligibleTasks.isEmpty()) {
+            int task = eligibleTasks.poll();
+            taskOrder[orderedTaskCount++] = task;
+            for (int successor : problem.getSuccessors(task)) {
+                if (--unorderedPredecessors[successor] == 0) eligibleTasks.add(successor);
+            }
+        }
+        return taskOrder;
+    }
+
+    /**
+     * @param problem scheduling problem
+     * @return maximum number of employees which can be assigned at the same time point (unlimited if the problem does
+     * not define a maximum employee count)
+     */
+    static int getEmployeeLimit(SchedulingProblem problem) {
+        return (problem.getMaxEmployeeCount() >= 0) ? problem.getMaxEmployeeCount() : Integer.MAX_VALUE;
+    }
+
+    /**
+     * @param problem    scheduling problem
+     * @param task       index of a task
+     * @param startTimes start times of the tasks, which contain the start times of all predecessors of the task
+     * @return latest end time of the predecessors of the given task, 0 if the task has no predecessors
+     */
+    static int getEarliestStart(SchedulingProblem problem, int task, int[] startTimes) {
+        int earliestStart = 0;
+        for (int predecessor : problem.getPredecessors(task)) {
+            earliestStart = Math.max(earliestStart, startTimes[predecessor] + problem.getDuration(predecessor));
+        }
+        return earliestStart;
+    }
+
+    /**
+     * Find the earliest start time of the given task at or after the given time, at which enough employees are
+     * available for the whole duration of the task.
+     *
+     * @param problem          scheduling problem
+     * @param task             index of the task which is scheduled
+     * @param earliestStart    earliest start time of the task, derived from the end times of its predecessors
+     * @param employeeProfile  number of assigned employees at every time point up to the horizon
+     * @param maxEmployeeCount maximum number of employees which can be assigned at the same time point
+     * @return earliest possible start time of the task, -1 if the task cannot be completed before the horizon
+     */
+    static int findStartTime(SchedulingProblem problem, int task, int earliestStart, int[] employeeProfile,
+                             int maxEmployeeCount) {
+        int duration = problem.getDuration(task);
+        int employeeCount = problem.getEmployeeCount(task);
+        int start = earliestStart;
+        while (start + duration < employeeProfile.length) {
+            // restart after the last time point of the window at which not enough employees are available
+            int conflict = -1;
+            for (int time = start + duration - 1; time >= start && conflict < 0; time--) {
+                if ((long) employeeProfile[time] + employeeCount > maxEmployeeCount) conflict = time;
+            }
+            if (conflict < 0) return start;
+            start = conflict + 1;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,137 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.PlanningObjective;
+import aspguidp.service.core.asp.SchedulingProblem;
+import aspguidp.service.core.asp.SolverConfiguration;
+import aspguidp.service.core.asp.SolverExecution;
+import aspguidp.service.core.atom.Atom;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of the {@link AspSolverService} interface which improves the project duration of the plans of
+ * another solver service with a {@link LocalSearchOptimizer}.
+ * <p>
+ * After the wrapped solver service terminated, the shortest published plan is improved by the local search. If the
+ * wrapped solver service did not publish a plan (for example: because it was stopped by the time limit before it
+ * found an answer set), the plan of a {@link ListScheduler} is published and improved instead. Every improved plan is
+ * published as additional answer set, so that the last answer set is the shortest plan which was found. The local
+ * search is stopped after the local search time of the solver configuration.
+ * <p>
+ * As the time-indexed grounding of the logic program grows quickly with the number of tasks, the local search is
+ * able to find short plans of projects which are too large for the logic program solver.
+ * <p>
+ * The local search is not executed for page executions after the first page, if further answer sets are available
+ * after the published answer sets, if the wrapped solver service already proved that its plan is optimal and if the
+ * solver optimizes another objective than the project duration.
+ */
+public class LocalSearchAspSolverService implements AspSolverService {
+    private final AspSolverService solverService;
+    private final SolverConfiguration configuration;
+
+    /**
+     * Create a new local search solver service which improves the plans of the given solver service.
+     *
+     * @param solverService solver service of which the plans are improved
+     * @param configuration solver configuration which holds the local search time and the objective of the solver
+     */
+    public LocalSearchAspSolverService(AspSolverService solverService, SolverConfiguration configuration) {
+        this.solverService = solverService;
+        this.configuration = configuration;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void executeLogicProgram(Collection<Atom> atoms, SolverExecution execution) throws IOException {
+        this.solverService.executeLogicProgram(atoms, execution);
+        if (execution.isCancelled() || !this.isImprovable(execution)) return;
+
+        // start from the shortest plan of the solver or from the plan of the list scheduling heuristic
+        SchedulingProblem problem = new SchedulingProblem(atoms);
+        int[] initialStartTimes = this.getShortestPlan(problem, execution.getAnswerSets());
+        if (initialStartTimes == null) {
+            initialStartTimes = new ListScheduler(problem).schedule();
+            if (initialStartTimes == null) return;
+            this.publishPlan(problem, initialStartTimes, execution);
+        }
+
+        // publish every improved plan as additional answer set
+        execution.updateStatus("improving plan");
+        LocalSearchOptimizer optimizer = new LocalSearchOptimizer(problem);
+        execution.addCancelHandler(optimizer::stop);
+        optimizer.optimize(initialStartTimes, Runtime.getRuntime().availableProcessors(),
+                this.configuration.getLocalSearchTime() * 1000L,
+                startTimes -> this.publishPlan(problem, startTimes, execution));
+    }
+
+    /**
+     * @param execution execution of which the wrapped solver service terminated
+     * @return true if the plans of the given execution can be improved by the local search
+     */
+    private boolean isImprovable(SolverExecution execution) {
+        PlanningObjective objective = this.configuration.getObjective();
+        if (execution.getAnswerSetOffset() > 0 || execution.isMoreAnswerSetsAvailable()) return false;
+        // the cost of a complete execution is optimal (for example: of an optimizing solver or a horizon search)
+        if (!execution.isTruncated() && execution.getCost() >= 0) return false;
+        return objective == PlanningObjective.NONE || objective == PlanningObjective.PROJECT_DURATION;
+    }
+
+    /**
+     * Publish the given plan as answer set to the given execution. If the solver optimizes the project duration, the
+     * project duration is published as cost of the answer set. The project duration is also published, if the wrapped
+     * solver service published the project duration of its plan as cost (for example: a horizon search).
+     *
+     * @param problem    scheduling problem which is solved
+     * @param startTimes start time of every task of the plan
+     * @param execution  execution to which the plan is published
+     */
+    private void publishPlan(SchedulingProblem problem, int[] startTimes, SolverExecution execution) {
+        execution.publishAnswerSet(problem.createAnswerSet(startTimes));
+        if (this.configuration.getObjective() == PlanningObjective.PROJECT_DURATION || execution.getCost() >= 0) {
+            execution.publishCost(problem.getCost(startTimes, PlanningObjective.PROJECT_DURATION));
+        }
+    }
+
+    /**
+     * Extract the start times of the shortest plan of the given answer sets.
+     *
+     * @param problem    scheduling problem which is solved
+     * @param answerSets answer sets of the logic program
+     * @return start time of every task of the shortest plan, null if the answer sets do not contain a plan
+     */
+    private int[] getShortestPlan(SchedulingProblem problem, List<List<Atom>> answerSets) {
+        int[] shortestPlan = null;
+        int shortestDuration = Integer.MAX_VALUE;
+        for (List<Atom> answerSet : answerSets) {
+            int[] startTimes = problem.getStartTimes(answerSet);
+            if (startTimes == null) continue;
+            int duration = problem.getCost(startTimes, PlanningObjective.PROJECT_DURATION);
+            if (duration < shortestDuration) {
+                shortestPlan = startTimes;
+                shortestDuration = duration;
+            }
+        }
+        return shortestPlan;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        this.solverService.shutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLogicProgramContent() {
+        return this.solverService.getLogicProgramContent();
+    }
+}
@@ -0,0 +1,380 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.SchedulingProblem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Optimizer class which improves the project duration of a plan of a {@link SchedulingProblem} with a local search.
+ * <p>
+ * A plan is represented by the order in which its tasks are scheduled by a {@link ListScheduler}, therefore every
+ * visited plan is a valid plan of the project planning logic program. The search modifies the order with three kinds
+ * of moves, which keep every task after its predecessors: a task is shifted to another position, two tasks are
+ * swapped or a block of consecutive tasks is moved to another position. Only the tasks after the first changed
+ * position are rescheduled, the employee profile of the tasks before that position is kept (incremental evaluation).
+ * <p>
+ * Moves which do not extend the project duration are accepted, the total completion time of the tasks is used to
+ * break ties. If no improvement is found for a while, the search is perturbed by random moves.
+ * <p>
+ * The optimizer executes several independent searches in parallel, which start from the same plan with different
+ * random seeds. Every plan which is shorter than the best plan of all searches is passed to a consumer. The
+ * optimization stops, if the time limit is reached, the optimizer is stopped or a plan reaches the lower bound of the
+ * project duration (the longest dependency chain or the total work divided by the maximum employee count).
+ */
+public class LocalSearchOptimizer {
+    private static final int perturbationMoveCount = 5;
+    private static final int stagnationFactor = 50;
+
+    private final SchedulingProblem problem;
+    private final int lowerBound;
+    private int bestProjectDuration;
+    private Consumer<int[]> improvementConsumer;
+    private volatile boolean stopped = false;
+
+    /**
+     * Create a new optimizer for the given problem.
+     *
+     * @param problem scheduling problem of which the plans are optimized
+     */
+    public LocalSearchOptimizer(SchedulingProblem problem) {
+        this.problem = problem;
+        this.lowerBound = problem.getLowerBound();
+    }
+
+    /**
+     * Improve the given plan and pass every plan, which is shorter than all plans found before, to the given consumer.
+     * This method blocks the calling thread until the optimization stopped.
+     *
+     * @param initialStartTimes   start time of every task of the plan which is improved
+     * @param searchCount         number of independent searches which are executed in parallel
+     * @param timeLimitMillis     time after which the optimization is stopped in milliseconds
+     * @param improvementConsumer consumer which is called with the start times of every improved plan
+     */
+    public void optimize(int[] initialStartTimes, int searchCount, long timeLimitMillis,
+                         Consumer<int[]> improvementConsumer) {
+        this.improvementConsumer = improvementConsumer;
+        this.bestProjectDuration = this.getProjectDuration(initialStartTimes);
+        if (this.bestProjectDuration <= this.lowerBound || this.problem.getTaskCount() < 2) return;
+
+        // order the tasks by their start times in the initial plan, predecessors are ordered first on equal starts
+        int[] topologicalPositions = new int[this.problem.getTaskCount()];
+        int[] topologicalOrder = this.problem.getTopologicalOrder();
+        for (int i = 0; i < topologicalOrder.length; i++) topologicalPositions[topologicalOrder[i]] = i;
+        int[] initialOrder = IntStream.range(0, this.problem.getTaskCount()).boxed()
+                .sorted(Comparator.<Integer>comparingInt(task -> initialStartTimes[task])
+                        .thenComparingInt(task -> topologicalPositions[task]))
+                .mapToInt(Integer::intValue).toArray();
+
+        long deadline = System.currentTimeMillis() + timeLimitMillis;
+        List<Thread> searchThreads = new ArrayList<>();
+        for (int i = 0; i < searchCount; i++) {
+            Search search = new Search(initialOrder, new Random(i), i > 0);
+            Thread searchThread = new Thread(() -> search.run(deadline), "local-search-" + i);
+            searchThread.setDaemon(true);
+            searchThreads.add(searchThread);
+            searchThread.start();
+        }
+
+        try {
+            for (Thread searchThread : searchThreads) searchThread.join();
+        } catch (InterruptedException e) {
+            this.stop();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop the optimization. This method can be called from any thread.
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /**
+     * @return lower bound of the project duration of every plan of the problem
+     */
+    public int getLowerBound() {
+        return this.lowerBound;
+    }
+
+    /**
+     * Pass the given plan to the improvement consumer, if it is shorter than all plans found before.
+     *
+     * @param startTimes      start time of every task of the plan
+     * @param projectDuration project duration of the plan
+     */
+    private synchronized void offerPlan(int[] startTimes, int projectDuration) {
+        if (projectDuration >= this.bestProjectDuration || this.stopped) return;
+        this.bestProjectDuration = projectDuration;
+        this.improvementConsumer.accept(startTimes.clone());
+    }
+
+    /**
+     * @return true if a plan with the lower bound of the project duration was found
+     */
+    private synchronized boolean isLowerBoundReached() {
+        return this.bestProjectDuration <= this.lowerBound;
+    }
+
+    /**
+     * @param startTimes start time of every task of a plan
+     * @return project duration of the given plan
+     */
+    private int getProjectDuration(int[] startTimes) {
+        int projectDuration = 0;
+        for (int task = 0; task < startTimes.length; task++) {
+            projectDuration = Math.max(projectDuration, startTimes[task] + this.problem.getDuration(task));
+        }
+        return projectDuration;
+    }
+
+    /**
+     * Single local search, which is executed on its own thread. The search holds the current task order, the start
+     * times of the tasks and the employee profile of the current plan.
+     */
+    private class Search {
+        private final SchedulingProblem problem = LocalSearchOptimizer.this.problem;
+        private final int taskCount = this.problem.getTaskCount();
+        private final int maxEmployeeCount = ListScheduler.getEmployeeLimit(this.problem);
+        private final Random random;
+        private final int[] taskOrder;
+        private final int[] positions;
+        private final int[] startTimes;
+        private final boolean[] scheduled;
+        private final int[] employeeProfile;
+        private final int[] savedOrder;
+        private final boolean valid;
+        private int projectDuration;
+        private long completionTime;
+
+        /**
+         * @param initialOrder order of the tasks of the initial plan
+         * @param random       random number generator of the search
+         * @param perturbed    true if the initial order is perturbed before the search starts
+         */
+        Search(int[] initialOrder, Random random, boolean perturbed) {
+            this.random = random;
+            this.taskOrder = initialOrder.clone();
+            this.positions = new int[this.taskCount];
+            this.startTimes = new int[this.taskCount];
+            this.scheduled = new boolean[this.taskCount];
+            this.employeeProfile = new int[this.problem.getHorizon() + 1];
+            this.savedOrder = new int[this.taskCount];
+            for (int i = 0; i < this.taskCount; i++) this.positions[this.taskOrder[i]] = i;
+            this.valid = this.decode(0, Integer.MAX_VALUE);
+            if (this.valid && perturbed) this.perturb();
+        }
+
+        /**
+         * Execute moves until the deadline is reached or the optimization is stopped.
+         *
+         * @param deadline time at which the search is stopped in milliseconds since the epoch
+         */
+        void run(long deadline) {
+            int stagnationLimit = stagnationFactor * this.taskCount;
+            int stagnation = 0;
+            int iteration = 0;
+            while (this.valid && !LocalSearchOptimizer.this.stopped) {
+                // check the deadline only every few moves, as moves are cheap
+                if ((++iteration & 63) == 0) {
+                    if (System.currentTimeMillis() >= deadline || LocalSearchOptimizer.this.isLowerBoundReached()) {
+                        return;
+                    }
+                }
+
+                int previousDuration = this.projectDuration;
+                if (this.tryMove(true) && this.projectDuration < previousDuration) {
+                    LocalSearchOptimizer.this.offerPlan(this.startTimes, this.projectDuration);
+                    stagnation = 0;
+                } else {
+                    stagnation++;
+                }
+                if (stagnation > stagnationLimit) {
+                    this.perturb();
+                    stagnation = 0;
+                }
+            }
+        }
+
+        /**
+         * Apply random moves to the current task order regardless of their effect on the plan.
+         */
+        private void perturb() {
+            for (int i = 0; i < perturbationMoveCount; i++) this.tryMove(false);
+        }
+
+        /**
+         * Apply a random move to the task order and reschedule the changed tasks. The move is reverted, if the
+         * result is not a valid plan or if the plan gets worse and only improving moves are accepted.
+         *
+         * @param improvingOnly true if moves which make the plan worse are reverted
+         * @return true if the move was accepted
+         */
+        private boolean tryMove(boolean improvingOnly) {
+            int first = this.random.nextInt(this.taskCount);
+            int second = this.random.nextInt(this.taskCount);
+            if (first == second) return false;
+
+            // changed range of the task order
+            int from = Math.min(first, second);
+            int to = Math.max(first, second);
+            System.arraycopy(this.taskOrder, from, this.savedOrder, from, to - from + 1);
+            switch (this.random.nextInt(3)) {
+                case 0:
+                    this.shift(first, second);
+                    break;
+                case 1:
+                    this.swap(from, to);
+                    break;
+                default:
+                    this.moveBlock(from, to);
+                    break;
+            }
+            if (!this.isPrecedenceFeasible(from, to)) {
+                this.restoreOrder(from, to);
+                return false;
+            }
+
+            int previousDuration = this.projectDuration;
+            long previousCompletionTime = this.completionTime;
+            boolean valid = this.decode(from, improvingOnly ? previousDuration : Integer.MAX_VALUE);
+            boolean accepted = valid && (!improvingOnly || this.projectDuration < previousDuration
+                    || (this.projectDuration == previousDuration && this.completionTime <= previousCompletionTime));
+            if (!accepted) {
+                this.restoreOrder(from, to);
+                this.decode(from, Integer.MAX_VALUE);
+            }
+            return accepted;
+        }
+
+        /**
+         * Move the task at the given source position to the given target position.
+         *
+         * @param source position of the task which is moved
+         * @param target position to which the task is moved
+         */
+        private void shift(int source, int target) {
+            int task = this.taskOrder[source];
+            if (source < target) System.arraycopy(this.taskOrder, source + 1, this.taskOrder, source, target - source);
+            else System.arraycopy(this.taskOrder, target, this.taskOrder, target + 1, source - target);
+            this.taskOrder[target] = task;
+        }
+
+        /**
+         * Swap the tasks at the given positions.
+         *
+         * @param from first position
+         * @param to   second position
+         */
+        private void swap(int from, int to) {
+            int task = this.taskOrder[from];
+            this.taskOrder[from] = this.taskOrder[to];
+            this.taskOrder[to] = task;
+        }
+
+        /**
+         * Move a block of consecutive tasks, which starts at the given position, to the end of the given range.
+         * The length of the block is chosen randomly.
+         *
+         * @param from first position of the block
+         * @param to   last position of the range
+         */
+        private void moveBlock(int from, int to) {
+            int blockLength = 1 + this.random.nextInt(to - from);
+            int[] block = Arrays.copyOfRange(this.taskOrder, from, from + blockLength);
+            System.arraycopy(this.taskOrder, from + blockLength, this.taskOrder, from, to - from + 1 - blockLength);
+            System.arraycopy(block, 0, this.taskOrder, to + 1 - blockLength, blockLength);
+        }
+
+        /**
+         * Update the positions of the tasks in the given range and check if every task of the range is still ordered
+         * after its predecessors.
+         *
+         * @param from first position of the changed range
+         * @param to   last position of the changed range
+         * @return true if the task order is valid
+         */
+        private boolean isPrecedenceFeasible(int from, int to) {
+            for (int i = from; i <= to; i++) this.positions[this.taskOrder[i]] = i;
+            for (int i = from; i <= to; i++) {
+                for (int predecessor : this.problem.getPredecessors(this.taskOrder[i])) {
+                    if (this.positions[predecessor] > i) return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Restore the saved task order in the given range.
+         *
+         * @param from first position of the changed range
+         * @param to   last position of the changed range
+         */
+        private void restoreOrder(int from, int to) {
+            System.arraycopy(this.savedOrder, from, this.taskOrder, from, to - from + 1);
+            for (int i = from; i <= to; i++) this.positions[this.taskOrder[i]] = i;
+        }
+
+        /**
+         * Reschedule the tasks at and after the given position of the task order. The tasks before the position keep
+         * their start times and their employees in the employee profile.
+         *
+         * @param from          first position of the task order which is rescheduled
+         * @param durationBound project duration which must not be exceeded
+         * @return true if all tasks were scheduled within the horizon and the duration bound
+         */
+        private boolean decode(int from, int durationBound) {
+            // remove the employees of the rescheduled tasks from the profile
+            for (int i = from; i < this.taskCount; i++) {
+                int task = this.taskOrder[i];
+                if (!this.scheduled[task]) continue;
+                this.updateProfile(task, -this.problem.getEmployeeCount(task));
+                this.scheduled[task] = false;
+            }
+
+            int projectDuration = 0;
+            long completionTime = 0;
+            for (int i = 0; i < from; i++) {
+                int end = this.startTimes[this.taskOrder[i]] + this.problem.getDuration(this.taskOrder[i]);
+                projectDuration = Math.max(projectDuration, end);
+                completionTime += end;
+            }
+            for (int i = from; i < this.taskCount; i++) {
+                int task = this.taskOrder[i];
+                int start = ListScheduler.findStartTime(this.problem, task,
+                        ListScheduler.getEarliestStart(this.problem, task, this.startTimes), this.employeeProfile,
+                        this.maxEmployeeCount);
+                int end = start + this.problem.getDuration(task);
+                if (start < 0 || end > durationBound) return false;
+
+                this.startTimes[task] = start;
+                this.updateProfile(task, this.problem.getEmployeeCount(task));
+                this.scheduled[task] = true;
+                projectDuration = Math.max(projectDuration, end);
+                completionTime += end;
+            }
+            this.projectDuration = projectDuration;
+            this.completionTime = completionTime;
+            return true;
+        }
+
+        /**
+         * Add the given number of employees to the employee profile for the duration of the given task.
+         *
+         * @param task          index of a scheduled task
+         * @param employeeDelta number of employees which is added to the profile
+         */
+        private void updateProfile(int task, int employeeDelta) {
+            int start = this.startTimes[task];
+            for (int time = start; time < start + this.problem.getDuration(task); time++) {
+                this.employeeProfile[time] += employeeDelta;
+            }
+        }
+    }
+}
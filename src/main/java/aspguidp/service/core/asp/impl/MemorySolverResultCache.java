@@ -0,0 +1,83 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.SolverResult;
+import aspguidp.service.core.asp.SolverResultCache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link SolverResultCache} interface which stores solver results in memory.
+ * <p>
+ * The cache evicts the least recently used results, if the number of stored results exceeds the maximum entry count
+ * or the estimated memory size of the stored results exceeds the maximum memory size of the cache.
+ */
+public class MemorySolverResultCache implements SolverResultCache {
+    private final int maxEntryCount;
+    private final long maxMemorySize;
+    private final LinkedHashMap<String, SolverResult> results = new LinkedHashMap<>(16, 0.75f, true);
+    private long memorySize = 0;
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    /**
+     * Create a new in-memory cache with the given limits.
+     *
+     * @param maxEntryCount maximum number of results which are stored in the cache
+     * @param maxMemorySize maximum estimated memory size of the stored results in bytes
+     */
+    public MemorySolverResultCache(int maxEntryCount, long maxMemorySize) {
+        this.maxEntryCount = maxEntryCount;
+        this.maxMemorySize = maxMemorySize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized SolverResult get(String key) {
+        SolverResult result = this.results.get(key);
+        if (result != null) this.hitCount++;
+        else this.missCount++;
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void put(String key, SolverResult result) {
+        long resultSize = result.getEstimatedSize();
+        if (resultSize > this.maxMemorySize) return; // result would evict every other result
+
+        SolverResult replacedResult = this.results.put(key, result);
+        if (replacedResult != null) this.memorySize -= replacedResult.getEstimatedSize();
+        this.memorySize += resultSize;
+
+        // evict least recently used results, iteration order of the map is the access order
+        Iterator<Map.Entry<String, SolverResult>> iterator = this.results.entrySet().iterator();
+        while (iterator.hasNext() && (this.results.size() > this.maxEntryCount || this.memorySize > this.maxMemorySize)) {
+            Map.Entry<String, SolverResult> eldestEntry = iterator.next();
+            if (eldestEntry.getKey().equals(key)) continue;
+            this.memorySize -= eldestEntry.getValue().getEstimatedSize();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+}
@@ -0,0 +1,73 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.SolverBackend;
+import aspguidp.service.core.asp.SolverConfiguration;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Implementation of the {@link AspSolverService} interface which executes the dlv logic program solver with
+ * pre-started solver processes of a {@link DlvProcessPool}.
+ * <p>
+ * The warmed processes of the pool are started with the number of answer sets of the first page of an execution
+ * (bounded by the model limit and the answer set page size of the solver configuration). Executions which need
+ * another number of answer sets (for example: page executions after the first page) start a new solver process.
+ * <p>
+ * The processes of the pool are destroyed, when the solver service is shut down.
+ */
+public class PooledDlvAspSolverService extends DlvAspSolverService {
+    private final int pooledModelCount;
+    private final DlvProcessPool processPool;
+
+    /**
+     * Create a new solver service instance for the logic program which can be accessed in the program resources with
+     * the given path and start filling the process pool of the solver service.
+     *
+     * @param logicProgramPath path of the logic program which is managed by the created solver service instance
+     * @param configuration    solver configuration which holds the settings of the dlv solver and the pool size
+     */
+    public PooledDlvAspSolverService(String logicProgramPath, SolverConfiguration configuration) {
+        this(new SolverBackend(SolverBackend.DLV.getName(), false, Collections.emptyList(), logicProgramPath),
+                configuration);
+    }
+
+    /**
+     * Create a new solver service instance which executes the dlv solver with the arguments and the encoding of the
+     * given backend and start filling the process pool of the solver service.
+     *
+     * @param backend       backend which defines the arguments of the dlv solver and the encoding of the problem
+     * @param configuration solver configuration which holds the settings of the dlv solver and the pool size
+     */
+    public PooledDlvAspSolverService(SolverBackend backend, SolverConfiguration configuration) {
+        super(backend, configuration);
+        this.pooledModelCount = configuration.getModelCount(0, configuration.getAnswerSetPageSize());
+        this.processPool = new DlvProcessPool(() -> super.startSolverProcess(this.pooledModelCount),
+                configuration.getProcessPoolSize());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Process startSolverProcess(int modelCount) throws IOException {
+        if (modelCount != this.pooledModelCount) return super.startSolverProcess(modelCount);
+        return this.processPool.acquire();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        this.processPool.close();
+    }
+
+    /**
+     * @return process pool which holds the warmed solver processes of the solver service
+     */
+    public DlvProcessPool getProcessPool() {
+        return this.processPool;
+    }
+}
@@ -0,0 +1,180 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.SolverExecution;
+import aspguidp.service.core.asp.SolverResult;
+import aspguidp.service.core.atom.Atom;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Implementation of the {@link AspSolverService} interface which executes a portfolio of solver services in parallel
+ * and publishes the result of the solver service which finishes first.
+ * <p>
+ * Every solver service of the portfolio is executed with a detached {@link SolverExecution}. As soon as a solver
+ * service finished with a complete result, its result is published to the execution and the remaining solver
+ * services are cancelled. Results of truncated executions are only published, if no solver service finished with a
+ * complete result. Therefore, the solve time of the portfolio is the solve time of the fastest solver service.
+ * <p>
+ * The solver services of a portfolio may enumerate the answer sets in different orders. To keep the pages of the
+ * answer sets consistent, page executions after the first page are executed only with the solver service which won
+ * the last execution of the first page.
+ * <p>
+ * The portfolio counts the runs and wins of every solver service, so that solver services which never win can be
+ * removed from the portfolio.
+ */
+public class PortfolioAspSolverService implements AspSolverService {
+    private static final ExecutorService executorService = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "solver-portfolio");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, AspSolverService> solverServices;
+    private final Map<String, long[]> memberStatistics = new LinkedHashMap<>();
+    private volatile String lastWinner = null;
+
+    /**
+     * Create a new portfolio of the given solver services. All solver services must implement the same logic program.
+     *
+     * @param solverServices solver services of the portfolio by their names
+     */
+    public PortfolioAspSolverService(Map<String, AspSolverService> solverServices) {
+        this.solverServices = new LinkedHashMap<>(solverServices);
+        for (String name : this.solverServices.keySet()) this.memberStatistics.put(name, new long[2]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void executeLogicProgram(Collection<Atom> atoms, SolverExecution execution) throws IOException {
+        Map<String, AspSolverService> members = this.getMembers(execution);
+        Map<String, SolverExecution> memberExecutions = new LinkedHashMap<>();
+        for (Map.Entry<String, AspSolverService> member : members.entrySet()) {
+            memberExecutions.put(member.getKey(), SolverExecution.createDetached(member.getValue(), atoms,
+                    execution.getAnswerSetOffset(), execution.getAnswerSetCount()));
+        }
+        execution.addCancelHandler(() -> memberExecutions.values().forEach(e -> e.cancel(true)));
+
+        // execute all members in parallel, the result of the first complete member is published
+        execution.updateStatus(String.format("solving logic program (portfolio of %d solvers)", members.size()));
+        CompletionService<String> completionService = new ExecutorCompletionService<>(executorService);
+        for (Map.Entry<String, SolverExecution> memberExecution : memberExecutions.entrySet()) {
+            String name = memberExecution.getKey();
+            SolverExecution detachedExecution = memberExecution.getValue();
+            completionService.submit(() -> {
+                members.get(name).executeLogicProgram(atoms, detachedExecution);
+                return name;
+            });
+            this.recordRun(name);
+        }
+
+        String winner = null;
+        String truncatedWinner = null;
+        IOException failure = null;
+        try {
+            for (int i = 0; i < memberExecutions.size() && winner == null; i++) {
+                try {
+                    String name = completionService.take().get();
+                    SolverExecution memberExecution = memberExecutions.get(name);
+                    if (memberExecution.isCancelled()) continue;
+                    if (!memberExecution.isTruncated()) winner = name;
+                    else if (truncatedWinner == null) truncatedWinner = name;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (failure == null) {
+                        failure = (cause instanceof IOException) ? (IOException) cause : new IOException(cause);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // cancel the remaining members
+            memberExecutions.values().forEach(e -> e.cancel(true));
+        }
+        if (execution.isCancelled()) return;
+
+        String publishedMember = (winner != null) ? winner : truncatedWinner;
+        if (publishedMember == null) {
+            if (failure != null) throw failure;
+            return;
+        }
+
+        SolverExecution memberExecution = memberExecutions.get(publishedMember);
+        SolverResult.fromExecution(memberExecution).publishTo(execution);
+        if (memberExecution.isTruncated()) execution.markTruncated(memberExecution.getTruncationReason());
+        if (winner != null) this.recordWin(winner, execution.getAnswerSetOffset() == 0);
+    }
+
+    /**
+     * @return names of the solver services of the portfolio
+     */
+    public Set<String> getMemberNames() {
+        return Collections.unmodifiableSet(this.solverServices.keySet());
+    }
+
+    /**
+     * @param memberName name of a solver service of the portfolio
+     * @return number of executions in which the solver service with the given name was executed
+     */
+    public synchronized long getRunCount(String memberName) {
+        return this.memberStatistics.get(memberName)[0];
+    }
+
+    /**
+     * @param memberName name of a solver service of the portfolio
+     * @return number of executions in which the result of the solver service with the given name was published
+     */
+    public synchronized long getWinCount(String memberName) {
+        return this.memberStatistics.get(memberName)[1];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        this.solverServices.values().forEach(AspSolverService::shutdown);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLogicProgramContent() {
+        return this.solverServices.values().iterator().next().getLogicProgramContent();
+    }
+
+    /**
+     * Determine the solver services which are executed for the given execution. Page executions after the first page
+     * are executed only with the last winner of the first page, so that the order of the answer sets is consistent.
+     *
+     * @param execution execution for which the logic program is executed
+     * @return solver services which are executed by their names
+     */
+    private Map<String, AspSolverService> getMembers(SolverExecution execution) {
+        String lastWinner = this.lastWinner;
+        if (execution.getAnswerSetOffset() == 0 || lastWinner == null) return this.solverServices;
+        return Collections.singletonMap(lastWinner, this.solverServices.get(lastWinner));
+    }
+
+    /**
+     * @param memberName name of the solver service which was executed
+     */
+    private synchronized void recordRun(String memberName) {
+        this.memberStatistics.get(memberName)[0]++;
+    }
+
+    /**
+     * @param memberName name of the solver service of which the result was published
+     * @param firstPage  true if the winning execution published the first page of the answer sets
+     */
+    private synchronized void recordWin(String memberName, boolean firstPage) {
+        this.memberStatistics.get(memberName)[1]++;
+        if (firstPage) this.lastWinner = memberName;
+    }
+}
@@ -0,0 +1,86 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.FeasibilityCheck;
+import aspguidp.service.core.asp.SchedulingProblem;
+import aspguidp.service.core.asp.SolverExecution;
+import aspguidp.service.core.atom.Atom;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of the {@link AspSolverService} interface which executes a pipeline of {@link FeasibilityCheck}
+ * instances before the logic program is executed by another solver service.
+ * <p>
+ * The checks are executed in the order in which they were added. If a check detects that the input cannot have a
+ * valid answer set, the wrapped solver service is not executed and the diagnostic of the check is passed to the
+ * execution as solver message.
+ */
+public class PreCheckingAspSolverService implements AspSolverService {
+    private final AspSolverService solverService;
+    private final List<FeasibilityCheck> feasibilityChecks = new ArrayList<>();
+
+    /**
+     * Create a new pre-checking solver service which executes the given checks before the given solver service.
+     *
+     * @param solverService     solver service which is executed, if no check fails
+     * @param feasibilityChecks checks which are executed before the solver service
+     */
+    public PreCheckingAspSolverService(AspSolverService solverService, List<FeasibilityCheck> feasibilityChecks) {
+        this.solverService = solverService;
+        this.feasibilityChecks.addAll(feasibilityChecks);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void executeLogicProgram(Collection<Atom> atoms, SolverExecution execution) throws IOException {
+        execution.updateStatus("checking input");
+        SchedulingProblem problem = new SchedulingProblem(atoms);
+        for (FeasibilityCheck feasibilityCheck : this.getFeasibilityChecks()) {
+            String diagnostic = feasibilityCheck.check(problem);
+            if (diagnostic != null) {
+                execution.appendSolverMessage("no valid plan exists: " + diagnostic);
+                return;
+            }
+        }
+
+        this.solverService.executeLogicProgram(atoms, execution);
+    }
+
+    /**
+     * Add the given check to the end of the pipeline of the solver service.
+     *
+     * @param feasibilityCheck check which is added
+     */
+    public synchronized void addFeasibilityCheck(FeasibilityCheck feasibilityCheck) {
+        this.feasibilityChecks.add(feasibilityCheck);
+    }
+
+    /**
+     * @return checks which are executed before the wrapped solver service
+     */
+    public synchronized List<FeasibilityCheck> getFeasibilityChecks() {
+        return new ArrayList<>(this.feasibilityChecks);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        this.solverService.shutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLogicProgramContent() {
+        return this.solverService.getLogicProgramContent();
+    }
+}
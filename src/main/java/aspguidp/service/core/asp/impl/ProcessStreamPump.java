@@ -0,0 +1,178 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.StreamStatistics;
+
+import java.io.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Pump class which drains an output stream of a solver process on a dedicated background thread.
+ * <p>
+ * The output streams of a process are backed by pipes with a limited buffer. If a stream is not drained while the
+ * process is running, the process blocks as soon as the buffer is full. Therefore, every output stream of a solver
+ * process is drained by its own pump, so that the standard output and the standard error stream are read
+ * concurrently to each other and to the writing of the standard input of the process.
+ * <p>
+ * The content of the stream is processed by a {@link StreamHandler}. The pump counts the bytes which are read by the
+ * handler and measures the time until the first byte and the end of the stream was read.
+ */
+public class ProcessStreamPump {
+    private static final ExecutorService executorService = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "solver-stream-pump");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String streamName;
+    private final InputStream stream;
+    private final StreamHandler handler;
+    private Future<String> result;
+    private volatile long startTime = 0;
+    private volatile long firstByteTime = -1;
+    private volatile long endTime = -1;
+    private volatile long byteCount = 0;
+
+    /**
+     * Create a new pump for the given stream, which is not started yet.
+     *
+     * @param streamName name of the stream which is used in the statistics of the pump (for example: 'stdout')
+     * @param stream     output stream of the solver process which is drained by the pump
+     * @param handler    handler which processes the content of the stream
+     */
+    public ProcessStreamPump(String streamName, InputStream stream, StreamHandler handler) {
+        this.streamName = streamName;
+        this.stream = stream;
+        this.handler = handler;
+    }
+
+    /**
+     * Create a stream handler which collects the content of a stream into a bounded buffer. If the content exceeds the
+     * buffer limit, the stream is still drained completely, but only the beginning of the content is kept and a note
+     * about the omitted characters is appended.
+     *
+     * @param bufferLimit maximum number of characters which are kept
+     * @return stream handler which returns the (bounded) content of the stream
+     */
+    public static StreamHandler boundedContent(int bufferLimit) {
+        return stream -> {
+            StringBuilder content = new StringBuilder();
+            long omittedCharacters = 0;
+            char[] buffer = new char[4096];
+            int length;
+            Reader reader = new InputStreamReader(stream);
+            while ((length = reader.read(buffer)) != -1) {
+                int keptLength = Math.max(0, Math.min(length, bufferLimit - content.length()));
+                content.append(buffer, 0, keptLength);
+                omittedCharacters += length - keptLength;
+            }
+
+            if (omittedCharacters > 0) content.append(String.format("\n(%d characters omitted)", omittedCharacters));
+            return content.toString();
+        };
+    }
+
+    /**
+     * Start draining the stream on a background thread.
+     */
+    public void start() {
+        this.startTime = System.currentTimeMillis();
+        this.result = executorService.submit(() -> {
+            try (InputStream countingStream = new CountingInputStream(this.stream)) {
+                return this.handler.handle(countingStream);
+            } finally {
+                this.endTime = System.currentTimeMillis();
+            }
+        });
+    }
+
+    /**
+     * Wait until the end of the stream was reached and return the result of the stream handler.
+     *
+     * @return result of the stream handler
+     * @throws IOException if the stream could not be read or the handler failed
+     */
+    public String awaitResult() throws IOException {
+        try {
+            return this.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for " + this.streamName);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof UncheckedIOException) throw ((UncheckedIOException) cause).getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * @return statistics of the stream which was read by the pump so far
+     */
+    public StreamStatistics getStatistics() {
+        long now = System.currentTimeMillis();
+        long firstByteMillis = (this.firstByteTime >= 0) ? this.firstByteTime - this.startTime : -1;
+        long durationMillis = ((this.endTime >= 0) ? this.endTime : now) - this.startTime;
+        return new StreamStatistics(this.streamName, this.byteCount, firstByteMillis, durationMillis);
+    }
+
+    /**
+     * Handler which processes the content of a stream, which is drained by a {@link ProcessStreamPump}.
+     */
+    @FunctionalInterface
+    public interface StreamHandler {
+        /**
+         * Process the content of the given stream until the end of the stream is reached.
+         *
+         * @param stream stream which is processed
+         * @return result of the handler (for example: the content of the stream which is not part of an answer set)
+         * @throws IOException if the stream could not be read
+         */
+        String handle(InputStream stream) throws IOException;
+    }
+
+    /**
+     * Input stream which counts the bytes which are read and records the time of the first read byte.
+     */
+    private class CountingInputStream extends FilterInputStream {
+        /**
+         * @param stream stream of which the bytes are counted
+         */
+        private CountingInputStream(InputStream stream) {
+            super(stream);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) this.countBytes(1);
+            return b;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if (count > 0) this.countBytes(count);
+            return count;
+        }
+
+        /**
+         * @param count number of bytes which were read
+         */
+        private void countBytes(int count) {
+            if (ProcessStreamPump.this.firstByteTime < 0) {
+                ProcessStreamPump.this.firstByteTime = System.currentTimeMillis();
+            }
+            ProcessStreamPump.this.byteCount += count;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.SchedulingProblem;
+import aspguidp.service.core.asp.SolverExecution;
+import aspguidp.service.core.atom.Atom;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Implementation of the {@link AspSolverService} interface which repairs the displayed plan after small changes of the
+ * input atoms instead of executing another solver service again.
+ * <p>
+ * The solver service remembers the input atoms of the last execution. If the input atoms of an execution differ from
+ * them in at most the given number of atoms and the reference answer set of the execution is a plan for the previous
+ * input atoms, the plan is repaired for the new input atoms. First, the tasks are shifted to the right until they
+ * start after their predecessors. If this does not result in a valid plan (for example: because the maximum employee
+ * count is exceeded), the tasks are scheduled one after another in the order of the previous plan by a
+ * {@link ListScheduler}. Every repaired plan is verified against the new problem before it is published as single
+ * answer set. If the plan cannot be repaired, the wrapped solver service is executed.
+ * <p>
+ * The repaired plan is a valid plan, but it is neither optimal nor are further answer sets enumerated. Executions with
+ * unchanged input atoms (for example: a second click on the run button) are passed to the wrapped solver service.
+ */
+public class RepairingAspSolverService implements AspSolverService {
+    private final AspSolverService solverService;
+    private final int repairLimit;
+    private volatile Set<Atom> previousAtoms = null;
+
+    /**
+     * Create a new repairing solver service which repairs the displayed plan, if at most the given number of input
+     * atoms changed, and executes the given solver service otherwise.
+     *
+     * @param solverService solver service which is executed, if the plan cannot be repaired
+     * @param repairLimit   maximum number of changed input atoms for which the displayed plan is repaired
+     */
+    public RepairingAspSolverService(AspSolverService solverService, int repairLimit) {
+        this.solverService = solverService;
+        this.repairLimit = repairLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void executeLogicProgram(Collection<Atom> atoms, SolverExecution execution) throws IOException {
+        if (execution.getAnswerSetOffset() > 0) {
+            this.solverService.executeLogicProgram(atoms, execution);
+            return;
+        }
+
+        Set<Atom> previousAtoms = this.previousAtoms;
+        Set<Atom> currentAtoms = new HashSet<>(atoms);
+        this.previousAtoms = currentAtoms;
+        if (previousAtoms != null && this.isSmallChange(previousAtoms, currentAtoms)
+                && new HashSet<>(execution.getReferenceAnswerSet()).containsAll(previousAtoms)) {
+            execution.updateStatus("repairing plan");
+            SchedulingProblem problem = new SchedulingProblem(atoms);
+            int[] startTimes = this.repairPlan(problem, execution.getReferenceAnswerSet());
+            if (startTimes != null) {
+                execution.publishAnswerSet(problem.createAnswerSet(startTimes));
+                return;
+            }
+        }
+
+        this.solverService.executeLogicProgram(atoms, execution);
+    }
+
+    /**
+     * @param previousAtoms input atoms of the previous execution
+     * @param currentAtoms  input atoms of the current execution
+     * @return true if the input atoms changed, but at most the repair limit of atoms was added or removed
+     */
+    private boolean isSmallChange(Set<Atom> previousAtoms, Set<Atom> currentAtoms) {
+        int changeCount = 0;
+        for (Atom atom : currentAtoms) {
+            if (!previousAtoms.contains(atom) && ++changeCount > this.repairLimit) return false;
+        }
+        for (Atom atom : previousAtoms) {
+            if (!currentAtoms.contains(atom) && ++changeCount > this.repairLimit) return false;
+        }
+        return changeCount > 0;
+    }
+
+    /**
+     * Repair the given plan for the given problem. Tasks which are not part of the given plan are treated like tasks
+     * which start at time 0.
+     *
+     * @param problem            scheduling problem with the changed input atoms
+     * @param referenceAnswerSet atoms of a plan for the previous input atoms
+     * @return start time of every task of the problem, null if the plan cannot be repaired
+     */
+    private int[] repairPlan(SchedulingProblem problem, List<Atom> referenceAnswerSet) {
+        if (!problem.isAcyclic()) return null;
+        int taskCount = problem.getTaskCount();
+        int[] previousStartTimes = this.getPreviousStartTimes(problem, referenceAnswerSet);
+
+        // shift every task to the right until it starts after its predecessors
+        int[] topologicalOrder = problem.getTopologicalOrder();
+        int[] startTimes = new int[taskCount];
+        for (int task : topologicalOrder) {
+            startTimes[task] = Math.max(previousStartTimes[task],
+                    ListScheduler.getEarliestStart(problem, task, startTimes));
+        }
+        if (problem.isPlan(startTimes)) return startTimes;
+
+        // schedule the tasks in the order of the previous plan, the order key of a task is at least the key of its
+        // predecessors, so that every task is ordered after its predecessors
+        int[] orderKeys = new int[taskCount];
+        int[] topologicalPositions = new int[taskCount];
+        for (int position = 0; position < taskCount; position++) {
+            int task = topologicalOrder[position];
+            topologicalPositions[task] = position;
+            orderKeys[task] = previousStartTimes[task];
+            for (int predecessor : problem.getPredecessors(task)) {
+                orderKeys[task] = Math.max(orderKeys[task], orderKeys[predecessor]);
+            }
+        }
+        Integer[] taskOrder = new Integer[taskCount];
+        for (int task = 0; task < taskCount; task++) taskOrder[task] = task;
+        Arrays.sort(taskOrder, Comparator.<Integer>comparingInt(task -> orderKeys[task])
+                .thenComparingInt(task -> topologicalPositions[task]));
+
+        int[] order = new int[taskCount];
+        for (int position = 0; position < taskCount; position++) order[position] = taskOrder[position];
+        startTimes = new ListScheduler(problem).schedule(order);
+        return problem.isPlan(startTimes) ? startTimes : null;
+    }
+
+    /**
+     * @param problem            scheduling problem with the changed input atoms
+     * @param referenceAnswerSet atoms of a plan for the previous input atoms
+     * @return start time of every task of the problem in the given plan, 0 for tasks which are not part of the plan
+     */
+    private int[] getPreviousStartTimes(SchedulingProblem problem, List<Atom> referenceAnswerSet) {
+        Map<String, Integer> taskIndices = new HashMap<>();
+        for (int task = 0; task < problem.getTaskCount(); task++) taskIndices.put(problem.getTaskName(task), task);
+
+        int[] startTimes = new int[problem.getTaskCount()];
+        for (Atom atom : referenceAnswerSet) {
+            List<String> arguments = atom.getArguments();
+            if (!"planned_task".equals(atom.getPredicateName()) || arguments.size() != 3) continue;
+            Integer task = taskIndices.get(arguments.get(0));
+            if (task == null) continue;
+            try {
+                startTimes[task] = Math.max(0, Integer.parseInt(arguments.get(1)));
+            } catch (NumberFormatException e) {
+                startTimes[task] = 0;
+            }
+        }
+        return startTimes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        this.solverService.shutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLogicProgramContent() {
+        return this.solverService.getLogicProgramContent();
+    }
+}
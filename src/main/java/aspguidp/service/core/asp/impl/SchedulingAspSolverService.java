@@ -0,0 +1,143 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.Main;
+import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.PlanningObjective;
+import aspguidp.service.core.asp.SchedulingProblem;
+import aspguidp.service.core.asp.SolverConfiguration;
+import aspguidp.service.core.asp.SolverExecution;
+import aspguidp.service.core.atom.Atom;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link AspSolverService} interface which solves the project planning problem with an
+ * in-process {@link BranchAndBoundScheduler} instead of an external logic program solver.
+ * <p>
+ * The solver service implements the semantics of the project planning logic program: the input atoms are converted
+ * to a {@link SchedulingProblem} and every schedule of the problem is published as answer set, which contains the
+ * same atoms as the respective answer set of the logic program (for example: 'planned_task/3' and
+ * 'project_duration/1').
+ * <p>
+ * As no external process is started, the solver service works without an installed dlv solver. The model limit, the
+ * answer set window and the limits of the solver configuration are respected like by the dlv solver service.
+ * <p>
+ * If the solver configuration selects an optimization objective, only schedules which improve the cost of the
+ * previously published schedule are published together with their cost ({@link SchedulingProblem#getCost}), like
+ * the improving answer sets of the weak constraints of the objective are printed by the dlv solver. The cost of the
+ * best schedule bounds the rest of the search: for the project duration objective, every branch which cannot lead to
+ * a shorter schedule is cut, and the search stops as soon as a schedule reaches the lower bound of the cost.
+ */
+public class SchedulingAspSolverService implements AspSolverService {
+    private final String logicProgramContent;
+    private final SolverConfiguration configuration;
+
+    /**
+     * Create a new solver service instance for the logic program which can be accessed in the program resources with
+     * the given path.
+     *
+     * @param logicProgramPath path of the project planning logic program which is implemented by the solver service
+     * @param configuration    solver configuration which holds the model limit and the limits of the solver
+     */
+    public SchedulingAspSolverService(String logicProgramPath, SolverConfiguration configuration) {
+        this.configuration = configuration;
+        InputStream programFileStream = Main.class.getResourceAsStream(logicProgramPath);
+        BufferedReader programFileReader = new BufferedReader(new InputStreamReader(programFileStream));
+        String logicProgramContent = programFileReader.lines().collect(Collectors.joining("\n"));
+
+        // append the weak constraints of the objective, if the solver optimizes an objective
+        PlanningObjective objective = configuration.getObjective();
+        if (objective.isOptimizing()) logicProgramContent += "\n" + objective.getWeakConstraints();
+        this.logicProgramContent = logicProgramContent;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void executeLogicProgram(Collection<Atom> atoms, SolverExecution execution) {
+        SchedulingProblem problem = new SchedulingProblem(atoms);
+        problem.getWarnings().forEach(warning -> execution.appendSolverMessage(warning + "\n"));
+
+        // stop scheduler on cancellation of the execution
+        BranchAndBoundScheduler scheduler = new BranchAndBoundScheduler(problem);
+        execution.addCancelHandler(scheduler::stop);
+
+        // skip schedules before the window of the execution
+        execution.updateStatus("solving logic program");
+        int modelCount = this.configuration.getModelCount(execution.getAnswerSetOffset(),
+                execution.getAnswerSetCount());
+        int[] answerSetIndex = {0};
+        PlanningObjective objective = this.configuration.getObjective();
+        int[] bestCost = {Integer.MAX_VALUE};
+        int costLowerBound = this.getCostLowerBound(problem, objective);
+        try (SolverWatchdog watchdog = new SolverWatchdog(execution, this.configuration, scheduler::stop)) {
+            scheduler.enumerate(startTimes -> {
+                if (objective.isOptimizing()) {
+                    // only publish schedules which improve the best schedule so far
+                    int cost = problem.getCost(startTimes, objective);
+                    if (cost >= bestCost[0]) return true;
+                    if (!watchdog.tryAcceptAnswerSet()) return false;
+                    bestCost[0] = cost;
+                    execution.publishAnswerSet(problem.createAnswerSet(startTimes));
+                    execution.publishCost(cost);
+
+                    // cut every branch which cannot improve the schedule, stop if no schedule can improve it
+                    if (objective == PlanningObjective.PROJECT_DURATION) scheduler.setMaxProjectDuration(cost - 1);
+                    return cost > costLowerBound;
+                }
+
+                if (!watchdog.tryAcceptAnswerSet()) return false;
+                if (answerSetIndex[0]++ >= execution.getAnswerSetOffset()) {
+                    execution.publishAnswerSet(problem.createAnswerSet(startTimes));
+                }
+                return modelCount == 0 || answerSetIndex[0] < modelCount;
+            });
+        }
+
+        // further answer sets may exist if the enumeration was stopped by the window of the execution
+        boolean windowLimited = execution.getAnswerSetCount() > 0
+                && modelCount == execution.getAnswerSetOffset() + execution.getAnswerSetCount();
+        execution.setMoreAnswerSetsAvailable(windowLimited && answerSetIndex[0] == modelCount);
+    }
+
+    /**
+     * Calculate a lower bound of the cost of every schedule of the given problem for the given objective. If a
+     * schedule with this cost is found, the schedule is optimal and the search can be stopped.
+     *
+     * @param problem   scheduling problem of which the schedules are searched
+     * @param objective objective which is optimized
+     * @return lower bound of the cost of every schedule
+     */
+    private int getCostLowerBound(SchedulingProblem problem, PlanningObjective objective) {
+        switch (objective) {
+            case PROJECT_DURATION:
+                return problem.getLowerBound();
+            case FULL_UTILIZATION:
+                // the employees can be fully utilized at most as long as the total work lasts with all employees
+                if (problem.getMaxEmployeeCount() <= 0) return problem.getIntegerBound() + 1;
+                long work = 0;
+                for (int task = 0; task < problem.getTaskCount(); task++) {
+                    if (problem.getDuration(task) > 0) {
+                        work += (long) problem.getEmployeeCount(task) * problem.getDuration(task);
+                    }
+                }
+                long fullUtilizationDuration = Math.min(work / problem.getMaxEmployeeCount(), problem.getHorizon());
+                return (int) (problem.getIntegerBound() + 1 - fullUtilizationDuration);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLogicProgramContent() {
+        return this.logicProgramContent;
+    }
+}
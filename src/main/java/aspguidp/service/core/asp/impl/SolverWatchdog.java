@@ -0,0 +1,140 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.SolverConfiguration;
+import aspguidp.service.core.asp.SolverExecution;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watchdog class which enforces the resource limits of the solver configuration on a running logic program solver.
+ * <p>
+ * The watchdog observes the wall-clock time of the solver, the number of bytes which are written to the standard output
+ * by the solver and the number of answer sets which are published by the solver. If one of the limits is exceeded, the
+ * execution is marked as truncated and the given abort handler is called, which stops the solver (for example: by
+ * destroying the solver process). The answer sets which were published before the limit was exceeded are kept.
+ * <p>
+ * A watchdog instance is created for a single solver run and must be closed after the solver terminated.
+ */
+public class SolverWatchdog implements AutoCloseable {
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "solver-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final SolverExecution execution;
+    private final SolverConfiguration configuration;
+    private final Runnable abortHandler;
+    private final ScheduledFuture<?> timeLimitFuture;
+    private volatile boolean truncated = false;
+    private long outputByteCount = 0;
+    private int answerSetCount = 0;
+
+    /**
+     * Create and start a new watchdog for the given execution. The wall-clock time limit starts immediately.
+     *
+     * @param execution     execution which is observed by the watchdog
+     * @param configuration solver configuration which defines the limits of the watchdog
+     * @param abortHandler  handler which stops the solver, if a limit is exceeded
+     */
+    public SolverWatchdog(SolverExecution execution, SolverConfiguration configuration, Runnable abortHandler) {
+        this.execution = execution;
+        this.configuration = configuration;
+        this.abortHandler = abortHandler;
+
+        int timeLimit = configuration.getTimeLimit();
+        this.timeLimitFuture = (timeLimit > 0) ? scheduler.schedule(
+                () -> this.truncate(String.format("time limit of %d seconds exceeded", timeLimit)),
+                timeLimit, TimeUnit.SECONDS) : null;
+    }
+
+    /**
+     * Wrap the given output stream of the solver into a stream, which counts the bytes which are read from the solver
+     * output and stops the solver, if the output limit is exceeded.
+     *
+     * @param solverOutput standard output stream of the solver
+     * @return stream which enforces the output limit of the watchdog
+     */
+    public InputStream watchOutput(InputStream solverOutput) {
+        return new FilterInputStream(solverOutput) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b != -1) SolverWatchdog.this.addOutputBytes(1);
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int count = super.read(b, off, len);
+                if (count > 0) SolverWatchdog.this.addOutputBytes(count);
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Check, if another answer set may be published by the solver. If the answer set limit is reached, the solver is
+     * stopped and the answer set must not be published.
+     *
+     * @return true if the answer set may be published
+     */
+    public boolean tryAcceptAnswerSet() {
+        int answerSetLimit = this.configuration.getAnswerSetLimit();
+        if (this.truncated) return false;
+        if (answerSetLimit > 0 && this.answerSetCount >= answerSetLimit) {
+            this.truncate(String.format("answer set limit of %d answer sets reached", answerSetLimit));
+            return false;
+        }
+        this.answerSetCount++;
+        return true;
+    }
+
+    /**
+     * @return true if the solver was stopped because a limit was exceeded
+     */
+    public boolean isTruncated() {
+        return this.truncated;
+    }
+
+    /**
+     * Stop the watchdog. This method must be called after the solver terminated.
+     */
+    @Override
+    public void close() {
+        if (this.timeLimitFuture != null) this.timeLimitFuture.cancel(false);
+    }
+
+    /**
+     * Add the given number of bytes to the output byte count and stop the solver, if the output limit is exceeded.
+     *
+     * @param byteCount number of bytes which were read from the solver output
+     */
+    private void addOutputBytes(int byteCount) {
+        long outputLimit = this.configuration.getOutputLimit() * 1024L * 1024L;
+        this.outputByteCount += byteCount;
+        if (outputLimit > 0 && this.outputByteCount > outputLimit) {
+            this.truncate(String.format("output limit of %d megabytes exceeded", this.configuration.getOutputLimit()));
+        }
+    }
+
+    /**
+     * Mark the execution as truncated with the given reason and stop the solver. Only the first exceeded limit is
+     * reported.
+     *
+     * @param reason description of the exceeded limit
+     */
+    private synchronized void truncate(String reason) {
+        if (this.truncated) return;
+        this.truncated = true;
+        this.execution.markTruncated(reason);
+        this.execution.updateStatus("stopping solver: " + reason);
+        this.abortHandler.run();
+    }
+}
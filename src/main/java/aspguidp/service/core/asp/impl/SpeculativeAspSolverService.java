@@ -0,0 +1,211 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.AspSolverService;
+import aspguidp.service.core.asp.SolverExecution;
+import aspguidp.service.core.atom.Atom;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementation of the {@link AspSolverService} interface which executes another solver service speculatively in
+ * the background, before the execution of the logic program is requested.
+ * <p>
+ * A speculative run is started with the input atoms which are expected to be executed next (for example: the input
+ * atoms of the input components, after they did not change for some time). The run is executed with a detached
+ * execution on a background thread with low priority and its result is held by the solver service. If an execution is
+ * requested with the same input atoms and the same answer set window, the execution takes over the held run: the
+ * priority of the run is raised to the normal priority and the answer sets of the run are forwarded to the execution,
+ * including the answer sets which were found before the execution was requested. Otherwise, the wrapped solver service
+ * is executed.
+ * <p>
+ * Only a single speculative run is held at the same time. Starting a speculative run with other input atoms cancels
+ * the previous run, so that stale runs do not occupy the solver. A run which was taken over by an execution is no
+ * longer held and is only cancelled together with the execution.
+ */
+public class SpeculativeAspSolverService implements AspSolverService {
+    private static final ExecutorService executorService = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "solver-speculation");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private final AspSolverService solverService;
+    private SpeculativeRun speculativeRun = null;
+
+    /**
+     * Create a new speculative solver service which executes the given solver service speculatively.
+     *
+     * @param solverService solver service which is executed speculatively and for executions without a held result
+     */
+    public SpeculativeAspSolverService(AspSolverService solverService) {
+        this.solverService = solverService;
+    }
+
+    /**
+     * Start a speculative run of the wrapped solver service with the given input atoms and the first answer set window
+     * of the given size. If a speculative run with the same input atoms and window is already held, this method does
+     * nothing. Otherwise, the held speculative run is cancelled.
+     *
+     * @param atoms          logic atoms which are expected to be passed to the logic program as input next
+     * @param answerSetCount maximum number of answer sets of the window (0 means unlimited)
+     */
+    public synchronized void speculate(Collection<Atom> atoms, int answerSetCount) {
+        if (this.speculativeRun != null && this.speculativeRun.matches(atoms, 0, answerSetCount)) return;
+
+        this.discardSpeculation();
+        this.speculativeRun = new SpeculativeRun(this.solverService, atoms, answerSetCount);
+    }
+
+    /**
+     * Cancel the held speculative run (for example: because the input atoms changed), if there is one.
+     */
+    public synchronized void discardSpeculation() {
+        if (this.speculativeRun != null) this.speculativeRun.cancel();
+        this.speculativeRun = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void executeLogicProgram(Collection<Atom> atoms, SolverExecution execution) throws IOException {
+        // take over the held run if it matches the execution, a run which does not match is stale
+        SpeculativeRun speculativeRun;
+        synchronized (this) {
+            speculativeRun = this.speculativeRun;
+            this.speculativeRun = null;
+        }
+        if (speculativeRun != null && !speculativeRun.matches(atoms, execution.getAnswerSetOffset(),
+                execution.getAnswerSetCount())) {
+            speculativeRun.cancel();
+            speculativeRun = null;
+        }
+        if (speculativeRun == null) {
+            this.solverService.executeLogicProgram(atoms, execution);
+            return;
+        }
+
+        execution.updateStatus("continuing speculative solver run");
+        execution.addCancelHandler(speculativeRun::cancel);
+        speculativeRun.promote(execution);
+        try {
+            speculativeRun.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            speculativeRun.cancel();
+            return;
+        } catch (CancellationException e) {
+            return;
+        } catch (ExecutionException e) {
+            if (execution.isCancelled()) return;
+            Throwable cause = e.getCause();
+            throw (cause instanceof IOException) ? (IOException) cause : new IOException(cause);
+        }
+        if (execution.isCancelled()) return;
+
+        // answer sets and costs were forwarded while the run was executed, publish the remaining output of the run
+        SolverExecution speculativeExecution = speculativeRun.execution;
+        execution.appendSolverMessage(speculativeExecution.getSolverMessage());
+        execution.setMoreAnswerSetsAvailable(speculativeExecution.isMoreAnswerSetsAvailable());
+        if (speculativeExecution.isTruncated()) execution.markTruncated(speculativeExecution.getTruncationReason());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        this.discardSpeculation();
+        this.solverService.shutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLogicProgramContent() {
+        return this.solverService.getLogicProgramContent();
+    }
+
+    /**
+     * Speculative run of the wrapped solver service, which is executed with a detached execution on the speculation
+     * thread.
+     */
+    private static class SpeculativeRun {
+        private final Set<Atom> atoms;
+        private final SolverExecution execution;
+        private final Future<?> result;
+        private Thread thread = null;
+        private boolean promoted = false;
+
+        /**
+         * Create a new speculative run and submit it to the speculation thread.
+         *
+         * @param solverService  solver service which is executed speculatively
+         * @param atoms          logic atoms which are passed to the logic program as input
+         * @param answerSetCount maximum number of answer sets of the window (0 means unlimited)
+         */
+        private SpeculativeRun(AspSolverService solverService, Collection<Atom> atoms, int answerSetCount) {
+            this.atoms = new HashSet<>(atoms);
+            this.execution = SolverExecution.createDetached(solverService, atoms, 0, answerSetCount);
+            this.result = executorService.submit(() -> {
+                // a run which was promoted before it was started is executed with normal priority
+                synchronized (this) {
+                    this.thread = Thread.currentThread();
+                    if (this.promoted) this.thread.setPriority(Thread.NORM_PRIORITY);
+                }
+                try {
+                    if (!this.execution.isCancelled()) solverService.executeLogicProgram(atoms, this.execution);
+                } finally {
+                    synchronized (this) {
+                        this.thread.setPriority(Thread.MIN_PRIORITY);
+                        this.thread = null;
+                    }
+                }
+                return null;
+            });
+        }
+
+        /**
+         * @param atoms           logic atoms which are passed to the logic program as input
+         * @param answerSetOffset index of the first answer set of the window
+         * @param answerSetCount  maximum number of answer sets of the window (0 means unlimited)
+         * @return true if the run computes the given window of the logic program for the given input atoms
+         */
+        private boolean matches(Collection<Atom> atoms, int answerSetOffset, int answerSetCount) {
+            return answerSetOffset == 0 && answerSetCount == this.execution.getAnswerSetCount()
+                    && this.atoms.equals(new HashSet<>(atoms));
+        }
+
+        /**
+         * Continue the run for the given execution: raise the priority of the run to the normal priority and forward
+         * the answer sets of the run to the given execution.
+         *
+         * @param execution execution which takes over the run
+         */
+        private void promote(SolverExecution execution) {
+            synchronized (this) {
+                this.promoted = true;
+                if (this.thread != null) this.thread.setPriority(Thread.NORM_PRIORITY);
+            }
+            this.execution.forwardTo(execution);
+        }
+
+        /**
+         * Cancel the run, if it was not completed yet.
+         */
+        private void cancel() {
+            this.execution.cancel(true);
+            this.result.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.SolverResult;
+import aspguidp.service.core.asp.SolverResultCache;
+
+/**
+ * Implementation of the {@link SolverResultCache} interface which combines a fast first level cache (for example: an
+ * in-memory cache) with a slower second level cache (for example: a persistent disk cache).
+ * <p>
+ * Results are stored in both caches. On lookup, the first level cache is queried first. If the result is only stored
+ * in the second level cache, it is copied to the first level cache.
+ */
+public class TieredSolverResultCache implements SolverResultCache {
+    private final SolverResultCache firstLevelCache;
+    private final SolverResultCache secondLevelCache;
+
+    /**
+     * Create a new tiered cache of the given caches.
+     *
+     * @param firstLevelCache  cache which is queried first
+     * @param secondLevelCache cache which is queried, if the first level cache does not contain a result
+     */
+    public TieredSolverResultCache(SolverResultCache firstLevelCache, SolverResultCache secondLevelCache) {
+        this.firstLevelCache = firstLevelCache;
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SolverResult get(String key) {
+        SolverResult result = this.firstLevelCache.get(key);
+        if (result != null) return result;
+
+        result = this.secondLevelCache.get(key);
+        if (result != null) this.firstLevelCache.put(key, result);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void put(String key, SolverResult result) {
+        this.firstLevelCache.put(key, result);
+        this.secondLevelCache.put(key, result);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getHitCount() {
+        return this.firstLevelCache.getHitCount() + this.secondLevelCache.getHitCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMissCount() {
+        return this.secondLevelCache.getMissCount();
+    }
+}
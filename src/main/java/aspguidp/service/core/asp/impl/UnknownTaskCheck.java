@@ -0,0 +1,38 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.FeasibilityCheck;
+import aspguidp.service.core.asp.SchedulingProblem;
+import aspguidp.service.core.atom.Atom;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of the {@link FeasibilityCheck} interface which detects dependencies that reference unknown tasks.
+ * <p>
+ * The logic program ignores such dependencies, which usually hides a typing error in the input. Therefore, the input
+ * is rejected, so that the dependency can be corrected.
+ */
+public class UnknownTaskCheck implements FeasibilityCheck {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String check(SchedulingProblem problem) {
+        Set<String> taskNames = new HashSet<>();
+        for (int task = 0; task < problem.getTaskCount(); task++) taskNames.add(problem.getTaskName(task));
+
+        for (Atom atom : problem.getInputAtoms()) {
+            List<String> arguments = atom.getArguments();
+            if (!"depends_on".equals(atom.getPredicateName()) || arguments.size() != 2) continue;
+            for (String taskName : arguments) {
+                if (!taskNames.contains(taskName)) {
+                    return String.format("the dependency %s references the unknown task %s",
+                            atom.getStringRepresentation(), taskName);
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,31 @@
+package aspguidp.service.core.asp.impl;
+
+import aspguidp.service.core.asp.FeasibilityCheck;
+import aspguidp.service.core.asp.SchedulingProblem;
+
+/**
+ * Implementation of the {@link FeasibilityCheck} interface which detects projects whose total workload (employees
+ * times duration of all tasks) exceeds the work that the employees can do within the maximum project duration.
+ */
+public class WorkloadCheck implements FeasibilityCheck {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String check(SchedulingProblem problem) {
+        int maxEmployeeCount = problem.getMaxEmployeeCount();
+        int maxProjectDuration = problem.getMaxProjectDuration();
+        if (maxEmployeeCount < 0 || maxProjectDuration < 0) return null;
+
+        long workload = 0;
+        for (int task = 0; task < problem.getTaskCount(); task++) {
+            workload += (long) problem.getEmployeeCount(task) * problem.getDuration(task);
+        }
+        long capacity = (long) maxEmployeeCount * maxProjectDuration;
+        if (workload <= capacity) return null;
+
+        return String.format("the tasks need %d employee time units, but %d employees can only do %d employee time "
+                + "units within the maximum project duration of %d", workload, maxEmployeeCount, capacity,
+                maxProjectDuration);
+    }
+}
@@ -0,0 +1,270 @@
+package aspguidp.service.core.atom.impl;
+
+import aspguidp.exception.InvalidAtomRepresentationException;
+import aspguidp.helper.PatternHelper;
+import aspguidp.service.core.atom.Atom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tokenizer class which reads {@link Atom} instances from character sequences in a single pass, without regular
+ * expressions and without intermediate atom strings.
+ * <p>
+ * The tokenizer accepts exactly the atoms of the atom pattern of the {@link PatternHelper}: an optional '-', a
+ * predicate name and an optional argument list in parentheses, which contains identifiers, quoted strings and numbers
+ * which are separated by whitespace and optional commas. The arguments of an atom are read like the value pattern of
+ * the {@link PatternHelper} reads them (for example: a quoted string ends at the first quote after its opening quote).
+ * <p>
+ * The tokenizer has two modes. The validation mode ({@link #readAtom(CharSequence)}) reads a single atom and rejects
+ * every character sequence which is not matched by the atom pattern as a whole. The scanning mode
+ * ({@link #readAtoms(CharSequence)}) reads all atoms of a character sequence like a repeated search with the atom
+ * pattern: characters which do not start an atom are skipped and an argument list which does not match is not part of
+ * the atom.
+ */
+public class AtomTokenizer {
+    private final CharSequence input;
+    private final int end;
+
+    /**
+     * Create a new tokenizer which reads the given range of the given character sequence.
+     *
+     * @param input input which is read
+     * @param end   index after the last character which is read
+     */
+    private AtomTokenizer(CharSequence input, int end) {
+        this.input = input;
+        this.end = end;
+    }
+
+    /**
+     * Read a single atom from the given character sequence. The whole character sequence must be a valid string
+     * representation of an atom.
+     *
+     * @param input string representation of an atom
+     * @return atom instance for the given string representation
+     * @throws InvalidAtomRepresentationException if the given character sequence is not a valid string representation
+     *                                            of an atom
+     */
+    public static Atom readAtom(CharSequence input) throws InvalidAtomRepresentationException {
+        AtomTokenizer tokenizer = new AtomTokenizer(input, input.length());
+        int nameStart = (input.length() > 0) ? tokenizer.getNameStart(0) : -1;
+        if (nameStart < 0) throw new InvalidAtomRepresentationException(input.toString());
+        int nameEnd = tokenizer.skipIdentifier(nameStart + (input.charAt(nameStart) == '-' ? 1 : 0));
+        if (nameEnd == input.length()) {
+            return new SimpleAtom(input.toString(), Collections.emptyList());
+        }
+
+        int argumentsEnd = tokenizer.matchArguments(nameEnd, input.length());
+        if (argumentsEnd < 0) throw new InvalidAtomRepresentationException(input.toString());
+        return new SimpleAtom(input.subSequence(nameStart, nameEnd).toString(),
+                tokenizer.readArguments(nameEnd, argumentsEnd));
+    }
+
+    /**
+     * Read all atoms from the given character sequence (for example: the content of an answer set of the dlv solver
+     * without the enclosing braces). Characters which are not part of an atom are skipped. The atoms are read as
+     * compact {@link SymbolAtom} instances.
+     *
+     * @param input character sequence which contains string representations of atoms
+     * @return atom instances in the order of their string representations in the given character sequence
+     */
+    public static List<Atom> readAtoms(CharSequence input) {
+        AtomTokenizer tokenizer = new AtomTokenizer(input, input.length());
+        List<Atom> atoms = new ArrayList<>();
+        int position = 0;
+        while (position < input.length()) {
+            int nameStart = tokenizer.getNameStart(position);
+            if (nameStart < 0) {
+                position++;
+                continue;
+            }
+
+            int nameEnd = tokenizer.skipIdentifier(nameStart + (input.charAt(nameStart) == '-' ? 1 : 0));
+            int argumentsEnd = tokenizer.matchArguments(nameEnd, -1);
+            atoms.add(new SymbolAtom(input.subSequence(nameStart, nameEnd).toString(),
+                    tokenizer.readArguments(nameEnd, argumentsEnd)));
+            position = (argumentsEnd >= 0) ? argumentsEnd : nameEnd;
+            if (position < input.length() && input.charAt(position) == ',') position++;
+        }
+        return atoms;
+    }
+
+    /**
+     * @param nameEnd      index after the last character of the predicate name
+     * @param argumentsEnd index after the closing parenthesis of the argument list, -1 if the atom has no arguments
+     * @return arguments of the given argument list
+     */
+    private List<String> readArguments(int nameEnd, int argumentsEnd) {
+        if (argumentsEnd < 0) return Collections.emptyList();
+        return new AtomTokenizer(this.input, argumentsEnd - 1).readValues(nameEnd + 1);
+    }
+
+    /**
+     * @param position index of a character of the input
+     * @return index of the first character of the predicate name which starts at the given index (including a leading
+     * '-'), -1 if no predicate name starts at the given index
+     */
+    private int getNameStart(int position) {
+        char c = this.input.charAt(position);
+        if (isIdentifierStart(c)) return position;
+        boolean negated = c == '-' && position + 1 < this.end && isIdentifierStart(this.input.charAt(position + 1));
+        return negated ? position : -1;
+    }
+
+    /**
+     * Match the argument list which starts at the given index, like the argument part of the atom pattern would match
+     * it. If a value can be matched in several ways (a quoted string which contains an escaped quote), the ways are
+     * tried in the order of the atom pattern.
+     *
+     * @param position    index of the opening parenthesis of the argument list
+     * @param requiredEnd index at which the argument list must end, -1 if the argument list can end anywhere
+     * @return index after the closing parenthesis of the argument list, -1 if no argument list starts at the index
+     */
+    private int matchArguments(int position, int requiredEnd) {
+        if (position >= this.end || this.input.charAt(position) != '(') return -1;
+        return this.matchValue(position + 1, requiredEnd);
+    }
+
+    /**
+     * Match a value of the argument list and the rest of the argument list after the value.
+     *
+     * @param position    index at which whitespace and the value are expected
+     * @param requiredEnd index at which the argument list must end, -1 if the argument list can end anywhere
+     * @return index after the closing parenthesis of the argument list, -1 if the rest of the argument list does not
+     * match
+     */
+    private int matchValue(int position, int requiredEnd) {
+        int valueStart = this.skipWhitespace(position);
+        if (valueStart >= this.end) return -1;
+        char c = this.input.charAt(valueStart);
+        if (c != '"') {
+            int valueEnd = this.skipSimpleValue(valueStart);
+            return (valueEnd < 0) ? -1 : this.matchValueEnd(valueEnd, requiredEnd);
+        }
+
+        // a quoted string ends at the first quote, it is extended over quotes which are preceded by a backslash
+        for (int quote = this.findQuote(valueStart + 1); quote >= 0; quote = this.findQuote(quote + 1)) {
+            int argumentsEnd = this.matchValueEnd(quote + 1, requiredEnd);
+            if (argumentsEnd >= 0) return argumentsEnd;
+            if (this.input.charAt(quote - 1) != '\\' || quote - 1 == valueStart) return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Match the rest of the argument list after a value: whitespace, an optional comma and either another value or the
+     * closing parenthesis of the argument list.
+     *
+     * @param position    index after the value
+     * @param requiredEnd index at which the argument list must end, -1 if the argument list can end anywhere
+     * @return index after the closing parenthesis of the argument list, -1 if the rest of the argument list does not
+     * match
+     */
+    private int matchValueEnd(int position, int requiredEnd) {
+        position = this.skipWhitespace(position);
+        if (position < this.end && this.input.charAt(position) == ',') position++;
+
+        int argumentsEnd = this.matchValue(position, requiredEnd);
+        if (argumentsEnd >= 0) return argumentsEnd;
+        boolean closed = position < this.end && this.input.charAt(position) == ')';
+        return (closed && (requiredEnd < 0 || position + 1 == requiredEnd)) ? position + 1 : -1;
+    }
+
+    /**
+     * Read the values of an argument list like a repeated search with the value pattern. Characters which do not start
+     * a value are skipped.
+     *
+     * @param position index of the first character of the argument list
+     * @return values of the argument list
+     */
+    private List<String> readValues(int position) {
+        List<String> values = new ArrayList<>();
+        while (position < this.end) {
+            int valueEnd;
+            if (this.input.charAt(position) == '"') {
+                int quote = this.findQuote(position + 1);
+                valueEnd = (quote >= 0) ? quote + 1 : -1;
+            } else {
+                valueEnd = this.skipSimpleValue(position);
+            }
+
+            if (valueEnd < 0) {
+                position++;
+            } else {
+                values.add(this.input.subSequence(position, valueEnd).toString());
+                position = valueEnd;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @param position index of the first character of an identifier or a number
+     * @return index after the identifier or number, -1 if neither an identifier nor a number starts at the index
+     */
+    private int skipSimpleValue(int position) {
+        char c = this.input.charAt(position);
+        if (isIdentifierStart(c)) return this.skipIdentifier(position);
+        if (c == '0') return position + 1;
+        if (c < '1' || c > '9') return -1;
+        do {
+            position++;
+        } while (position < this.end && this.input.charAt(position) >= '0' && this.input.charAt(position) <= '9');
+        return position;
+    }
+
+    /**
+     * @param position index of the first character of an identifier
+     * @return index after the identifier
+     */
+    private int skipIdentifier(int position) {
+        do {
+            position++;
+        } while (position < this.end && isIdentifierPart(this.input.charAt(position)));
+        return position;
+    }
+
+    /**
+     * @param position index at which the whitespace starts
+     * @return index of the first character which is not whitespace
+     */
+    private int skipWhitespace(int position) {
+        while (position < this.end && isWhitespace(this.input.charAt(position))) position++;
+        return position;
+    }
+
+    /**
+     * @param position index at which the search starts
+     * @return index of the first quote at or after the given index, -1 if there is no quote
+     */
+    private int findQuote(int position) {
+        while (position < this.end && this.input.charAt(position) != '"') position++;
+        return (position < this.end) ? position : -1;
+    }
+
+    /**
+     * @param c character
+     * @return true if the character can start an identifier
+     */
+    private static boolean isIdentifierStart(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    /**
+     * @param c character
+     * @return true if the character can be part of an identifier
+     */
+    private static boolean isIdentifierPart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * @param c character
+     * @return true if the character is whitespace in the sense of regular expressions
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
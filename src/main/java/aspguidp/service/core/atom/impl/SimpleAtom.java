@@ -1,13 +1,11 @@
 package aspguidp.service.core.atom.impl;
 
 import aspguidp.exception.InvalidAtomRepresentationException;
-import aspguidp.helper.PatternHelper;
 import aspguidp.service.core.atom.Atom;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Basic implementation of the {@link Atom} interface which allows the creation of an atom instance by a raw predicate
@@ -15,27 +13,34 @@ import java.util.regex.Pattern;
  * <p>
  * Additionally, this class provides a static method to create an atom instance from the string representation of an
  * atom.
+ * <p>
+ * Simple atoms are immutable: the arguments are copied into an unmodifiable list on creation. Therefore, the hash code
+ * is calculated once on creation and the string representation is built once on first access (for example: when atoms
+ * are sorted by their string representation).
  */
 public class SimpleAtom implements Atom {
-    private static final Pattern atomPattern = Pattern.compile(PatternHelper.getAtomPattern());
-    private static final Pattern argumentPattern = Pattern.compile(PatternHelper.getValuePattern());
-
     private final String predicateName;
     private final List<String> arguments;
+    private final int hashCode;
+    private volatile String stringRepresentation;
 
     /**
-     * Create a new atom instance with the given predicate name and list of arguments
+     * Create a new atom instance with the given predicate name and list of arguments. Later changes of the given list
+     * do not affect the created atom instance.
      *
      * @param predicateName predicate name of the created atom instance
      * @param arguments     list of arguments of the created atom instance
      */
     public SimpleAtom(String predicateName, List<String> arguments) {
         this.predicateName = predicateName;
-        this.arguments = arguments;
+        this.arguments = (arguments != null && !arguments.isEmpty())
+                ? Collections.unmodifiableList(new ArrayList<>(arguments)) : Collections.emptyList();
+        this.hashCode = predicateName.hashCode() + this.arguments.hashCode();
     }
 
     /**
-     * Create a new atom instance from the string representation of an atom.
+     * Create a new atom instance from the string representation of an atom. The string representation is read by the
+     * validation mode of the {@link AtomTokenizer}.
      *
      * @param stringRepresentation string representation from which the atom is extracted
      * @return atom instance for the given string representation of an atom
@@ -43,16 +48,7 @@ public class SimpleAtom implements Atom {
      *                                            representation
      */
     public static Atom fromStringRepresentation(String stringRepresentation) throws InvalidAtomRepresentationException {
-        Matcher atomMatcher = atomPattern.matcher(stringRepresentation);
-        if (!atomMatcher.matches()) throw new InvalidAtomRepresentationException(stringRepresentation);
-        String predicateName = atomMatcher.group(1);
-        String termString = (atomMatcher.group(2) != null) ? atomMatcher.group(2) : "";
-
-        List<String> arguments = new ArrayList<>();
-        Matcher argumentMatcher = argumentPattern.matcher(termString);
-        while (argumentMatcher.find()) arguments.add(argumentMatcher.group(0));
-
-        return new SimpleAtom(predicateName, arguments);
+        return AtomTokenizer.readAtom(stringRepresentation);
     }
 
     /**
@@ -65,6 +61,8 @@ public class SimpleAtom implements Atom {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * The returned list is unmodifiable.
      */
     @Override
     public List<String> getArguments() {
@@ -76,7 +74,7 @@ public class SimpleAtom implements Atom {
      */
     @Override
     public Integer getArity() {
-        return (this.arguments != null && !this.arguments.isEmpty()) ? this.arguments.size() : 0;
+        return this.arguments.size();
     }
 
     /**
@@ -84,9 +82,13 @@ public class SimpleAtom implements Atom {
      */
     @Override
     public String getStringRepresentation() {
-        Boolean hasArguments = this.arguments != null && !this.arguments.isEmpty();
-        String argumentsString = (hasArguments) ? "(" + String.join(",", this.arguments) + ")" : "";
-        return this.predicateName + argumentsString;
+        String stringRepresentation = this.stringRepresentation;
+        if (stringRepresentation == null) {
+            String argumentsString = (!this.arguments.isEmpty()) ? "(" + String.join(",", this.arguments) + ")" : "";
+            stringRepresentation = this.predicateName + argumentsString;
+            this.stringRepresentation = stringRepresentation;
+        }
+        return stringRepresentation;
     }
 
     /**
@@ -94,13 +96,13 @@ public class SimpleAtom implements Atom {
      */
     @Override
     public boolean equals(Object obj) {
-        if (!(obj instanceof SimpleAtom)) return false;
+        if (!(obj instanceof Atom)) return false;
         if (obj == this) return true;
+        if (obj.hashCode() != this.hashCode) return false;
 
         Atom o = (Atom) obj;
         if (!o.getPredicateName().equals(this.getPredicateName())) return false;
         if (!o.getArguments().equals(this.getArguments())) return false;
-        if (!o.getStringRepresentation().equals(this.getStringRepresentation())) return false;
 
         return true;
     }
@@ -110,6 +112,6 @@ public class SimpleAtom implements Atom {
      */
     @Override
     public int hashCode() {
-        return this.predicateName.hashCode() + this.arguments.hashCode();
+        return this.hashCode;
     }
 }
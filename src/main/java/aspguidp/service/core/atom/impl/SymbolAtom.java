@@ -0,0 +1,124 @@
+package aspguidp.service.core.atom.impl;
+
+import aspguidp.service.core.atom.Atom;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Compact implementation of the {@link Atom} interface which holds the predicate name and the arguments of the atom
+ * as ids of the global {@link SymbolTable}.
+ * <p>
+ * A symbol atom only consists of an array of symbol ids and its hash code. The symbol strings are shared with all
+ * other symbol atoms, therefore answer sets with many atoms (for example: answer sets which are read from the output
+ * of the logic program solver) need much less memory than with {@link SimpleAtom} instances. Two symbol atoms are
+ * compared by their symbol ids.
+ * <p>
+ * Symbol atoms are equal to every other atom with the same predicate name and the same arguments and have the same
+ * hash code as respective {@link SimpleAtom} instances, so that both implementations can be mixed in collections.
+ */
+public class SymbolAtom implements Atom {
+    private final int[] symbolIds;
+    private final int hashCode;
+
+    /**
+     * Create a new atom instance with the given predicate name and list of arguments. The predicate name and the
+     * arguments are interned by the symbol table.
+     *
+     * @param predicateName predicate name of the created atom instance
+     * @param arguments     list of arguments of the created atom instance
+     */
+    public SymbolAtom(String predicateName, List<String> arguments) {
+        this.symbolIds = new int[arguments.size() + 1];
+        this.symbolIds[0] = SymbolTable.getSymbolId(predicateName);
+        for (int i = 0; i < arguments.size(); i++) this.symbolIds[i + 1] = SymbolTable.getSymbolId(arguments.get(i));
+        this.hashCode = predicateName.hashCode() + arguments.hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getPredicateName() {
+        return SymbolTable.getSymbol(this.symbolIds[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned list is an unmodifiable view of the symbol ids of the arguments.
+     */
+    @Override
+    public List<String> getArguments() {
+        return new ArgumentList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getArity() {
+        return this.symbolIds.length - 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getStringRepresentation() {
+        StringBuilder stringRepresentation = new StringBuilder(this.getPredicateName());
+        for (int i = 1; i < this.symbolIds.length; i++) {
+            stringRepresentation.append((i == 1) ? '(' : ',').append(SymbolTable.getSymbol(this.symbolIds[i]));
+        }
+        if (this.symbolIds.length > 1) stringRepresentation.append(')');
+        return stringRepresentation.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (obj instanceof SymbolAtom) {
+            SymbolAtom o = (SymbolAtom) obj;
+            return o.hashCode == this.hashCode && Arrays.equals(o.symbolIds, this.symbolIds);
+        }
+        if (!(obj instanceof Atom)) return false;
+
+        Atom o = (Atom) obj;
+        return o.getPredicateName().equals(this.getPredicateName()) && o.getArguments().equals(this.getArguments());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    /**
+     * Unmodifiable list view of the arguments of the atom, which resolves the symbol ids on access.
+     */
+    private class ArgumentList extends AbstractList<String> implements RandomAccess {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= this.size()) throw new IndexOutOfBoundsException(String.valueOf(index));
+            return SymbolTable.getSymbol(SymbolAtom.this.symbolIds[index + 1]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return SymbolAtom.this.symbolIds.length - 1;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package aspguidp.service.core.atom.impl;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global symbol table which interns the predicate names and the arguments of atoms to integer ids.
+ * <p>
+ * Every distinct symbol is stored once and is identified by its id for the lifetime of the application. Atoms which
+ * are backed by symbol ids ({@link SymbolAtom}) share the symbol strings of the table, instead of holding their own
+ * copies of constants which occur in many answer sets (for example: task names, time units and numbers).
+ * <p>
+ * The symbol table can be accessed from any thread. Looking up the id of a known symbol does not lock, only the
+ * registration of a new symbol is synchronized.
+ */
+public class SymbolTable {
+    private static final Map<String, Integer> symbolIds = new ConcurrentHashMap<>();
+    private static volatile String[] symbols = new String[1024];
+    private static int symbolCount = 0;
+
+    /**
+     * Get the id of the given symbol. If the symbol is not known yet, it is registered with a new id.
+     *
+     * @param symbol predicate name or argument of an atom
+     * @return id of the given symbol
+     */
+    public static int getSymbolId(String symbol) {
+        Integer symbolId = symbolIds.get(symbol);
+        if (symbolId != null) return symbolId;
+
+        synchronized (SymbolTable.class) {
+            symbolId = symbolIds.get(symbol);
+            if (symbolId != null) return symbolId;
+
+            // the symbol is stored before its id is published, so that every published id can be resolved
+            if (symbolCount == symbols.length) symbols = Arrays.copyOf(symbols, symbolCount * 2);
+            symbols[symbolCount] = symbol;
+            symbolId = symbolCount++;
+            symbolIds.put(symbol, symbolId);
+            return symbolId;
+        }
+    }
+
+    /**
+     * @param symbolId id of a registered symbol
+     * @return symbol with the given id
+     */
+    public static String getSymbol(int symbolId) {
+        return symbols[symbolId];
+    }
+
+    /**
+     * @return number of registered symbols
+     */
+    public static int getSymbolCount() {
+        return symbolIds.size();
+    }
+}